@@ -0,0 +1,73 @@
+package com.algoverse.platform.benchmark;
+
+import com.algoverse.platform.cache.SmileCacheCodec;
+import com.algoverse.platform.entity.Problem;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The problems:all value: the typed Smile/LZ4 codec against the generic JSON
+ * serializer of the Object RedisTemplate. Payload sizes are printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheCodecBenchmark {
+
+    @Param({ "3000", "30000" })
+    private int problems;
+
+    private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+    private final SmileCacheCodec<List<Problem>> codec =
+            new SmileCacheCodec<>(new TypeReference<List<Problem>>() {}, 1, 1024);
+
+    private List<Problem> value;
+    private byte[] jsonBytes;
+    private byte[] codecBytes;
+
+    @Setup
+    public void setUp() {
+        value = SyntheticData.problems(problems);
+        jsonBytes = json.serialize(value);
+        codecBytes = codec.encode(value);
+        System.out.printf("%n%d problems: json %d bytes, smile+lz4 %d bytes (%.1f%%)%n", problems,
+                jsonBytes.length, codecBytes.length, 100.0 * codecBytes.length / jsonBytes.length);
+    }
+
+    @Benchmark
+    public byte[] jsonEncode() {
+        return json.serialize(value);
+    }
+
+    @Benchmark
+    public Object jsonDecode() {
+        return json.deserialize(jsonBytes);
+    }
+
+    @Benchmark
+    public byte[] codecEncode() {
+        return codec.encode(value);
+    }
+
+    @Benchmark
+    public List<Problem> codecDecode() {
+        return codec.decode(codecBytes);
+    }
+}
@@ -0,0 +1,98 @@
+package com.algoverse.platform.benchmark;
+
+import com.algoverse.platform.entity.Stats;
+import com.algoverse.platform.entity.UserProfile;
+import com.algoverse.platform.service.LeaderBoardScore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranking a batch: the encoded sorted-set score against the comparator sort
+ * the leaderboard used before, which recomputed scores on every comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeaderBoardBenchmark {
+
+    private static final Comparator<UserProfile> LEGACY_ORDER = (user1, user2) -> {
+        Stats stats1 = user1.getStats();
+        Stats stats2 = user2.getStats();
+        int score1 = LeaderBoardScore.score(stats1);
+        int score2 = LeaderBoardScore.score(stats2);
+        if (score1 != score2) {
+            return Integer.compare(score2, score1);
+        }
+        if (!stats1.getHardSolved().equals(stats2.getHardSolved())) {
+            return Integer.compare(stats2.getHardSolved(), stats1.getHardSolved());
+        }
+        if (!stats1.getMediumSolved().equals(stats2.getMediumSolved())) {
+            return Integer.compare(stats2.getMediumSolved(), stats1.getMediumSolved());
+        }
+        return Integer.compare(stats2.getTotalSolved(), stats1.getTotalSolved());
+    };
+
+    @Param({ "1000", "10000", "100000" })
+    private int profiles;
+
+    private List<UserProfile> batch;
+
+    @Setup
+    public void setUp() {
+        batch = SyntheticData.profiles(profiles);
+    }
+
+    @Benchmark
+    public List<UserProfile> comparatorRanking() {
+        List<UserProfile> ranked = new ArrayList<>(batch);
+        ranked.sort(LEGACY_ORDER);
+        return ranked;
+    }
+
+    /**
+     * Encode once per user and sort the primitive scores; a page is then decoded from the top.
+     */
+    @Benchmark
+    public Stats encodedRanking() {
+        double[] scores = new double[batch.size()];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = LeaderBoardScore.encode(batch.get(i).getStats());
+        }
+        Arrays.sort(scores);
+        Stats top = null;
+        for (int i = scores.length - 1; i >= Math.max(0, scores.length - 100); i--) {
+            top = LeaderBoardScore.decodeStats(scores[i]);
+        }
+        return top;
+    }
+
+    /**
+     * Per-update cost of the sorted-set index: one encode per changed user.
+     */
+    @Benchmark
+    public double encodeAll() {
+        double sum = 0;
+        for (UserProfile profile : batch) {
+            sum += LeaderBoardScore.encode(profile.getStats());
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,62 @@
+package com.algoverse.platform.benchmark;
+
+import com.algoverse.platform.catalog.ProblemCatalog;
+import com.algoverse.platform.dto.LeetCodeSubmission;
+import com.algoverse.platform.entity.Problem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the catalog snapshot, which replaced the per-run title map of the
+ * sync scheduler, and resolving submission titles against it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProblemCatalogBenchmark {
+
+    @Param({ "3000", "30000" })
+    private int problems;
+
+    private List<Problem> source;
+    private ProblemCatalog catalog;
+    private List<LeetCodeSubmission> submissions;
+
+    @Setup
+    public void setUp() {
+        source = SyntheticData.problems(problems);
+        catalog = ProblemCatalog.of(source);
+        submissions = SyntheticData.submissions(source, 1000, 0.2, 0.1);
+    }
+
+    @Benchmark
+    public ProblemCatalog build() {
+        return ProblemCatalog.of(source);
+    }
+
+    @Benchmark
+    public int resolveTitles() {
+        int matched = 0;
+        for (LeetCodeSubmission submission : submissions) {
+            if (catalog.findByTitle(submission.getTitle()) != null) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+}
@@ -0,0 +1,135 @@
+package com.algoverse.platform.benchmark;
+
+import com.algoverse.platform.dto.LeetCodeSubmission;
+import com.algoverse.platform.entity.Category;
+import com.algoverse.platform.entity.Problem;
+import com.algoverse.platform.entity.SolvedProblem;
+import com.algoverse.platform.entity.Stats;
+import com.algoverse.platform.entity.UserProfile;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Deterministic generators for benchmark inputs. The same size always yields
+ * the same data, so runs are comparable across commits.
+ */
+public final class SyntheticData {
+
+    private static final long SEED = 20240601L;
+
+    private static final String[] TOPICS = {
+        "Array", "String", "Hash Table", "Dynamic Programming", "Math", "Sorting", "Greedy",
+        "Depth-First Search", "Binary Search", "Database", "Breadth-First Search", "Tree", "Matrix",
+        "Two Pointers", "Bit Manipulation", "Binary Tree", "Heap (Priority Queue)", "Stack", "Prefix Sum",
+        "Graph", "Simulation", "Design", "Counting", "Backtracking", "Sliding Window", "Union Find",
+        "Linked List", "Ordered Set", "Monotonic Stack", "Trie", "Recursion", "Divide and Conquer",
+        "Queue", "Memoization", "Topological Sort", "Segment Tree", "Geometry", "Game Theory",
+        "Binary Indexed Tree", "Interactive"
+    };
+
+    private static final Instant EPOCH = Instant.parse("2023-01-01T00:00:00Z");
+
+    private SyntheticData() {
+    }
+
+    public static List<Problem> problems(int count) {
+        Random random = new Random(SEED);
+        List<Problem> problems = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Problem problem = new Problem();
+            problem.setId(String.format("%024x", 0x65a000000000L + i));
+            problem.setTitle("Problem " + i + " " + TOPICS[i % TOPICS.length]);
+            problem.setTitleSlug("problem-" + i);
+            problem.setProblemUrl("https://leetcode.com/problems/problem-" + i + "/");
+            problem.setCategory(category(random));
+            Set<String> topics = new HashSet<>();
+            int topicCount = 1 + random.nextInt(4);
+            while (topics.size() < topicCount) {
+                topics.add(TOPICS[random.nextInt(TOPICS.length)]);
+            }
+            problem.setTopics(topics);
+            problems.add(problem);
+        }
+        return problems;
+    }
+
+    public static List<UserProfile> profiles(int count) {
+        Random random = new Random(SEED);
+        List<UserProfile> profiles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int easy = random.nextInt(600);
+            int medium = random.nextInt(900);
+            int hard = random.nextInt(300);
+            UserProfile profile = new UserProfile();
+            profile.setId("user-" + i);
+            profile.setDisplayName("User " + i);
+            profile.setLeetCodeUserName("lc_user_" + i);
+            profile.setBatchId("batch-1");
+            profile.setStats(new Stats(easy + medium + hard, easy, medium, hard));
+            profiles.add(profile);
+        }
+        return profiles;
+    }
+
+    /**
+     * Accepted submissions against the catalog; {@code duplicateRatio} of them
+     * resubmit an earlier problem and {@code unmatchedRatio} name a problem
+     * that is not in the catalog.
+     */
+    public static List<LeetCodeSubmission> submissions(List<Problem> catalog, int count, double duplicateRatio,
+            double unmatchedRatio) {
+        Random random = new Random(SEED);
+        List<LeetCodeSubmission> submissions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String title;
+            String slug;
+            double roll = random.nextDouble();
+            if (roll < unmatchedRatio) {
+                title = "Unknown Problem " + i;
+                slug = "unknown-problem-" + i;
+            } else if (roll < unmatchedRatio + duplicateRatio && !submissions.isEmpty()) {
+                LeetCodeSubmission earlier = submissions.get(random.nextInt(submissions.size()));
+                title = earlier.getTitle();
+                slug = earlier.getTitleSlug();
+            } else {
+                Problem problem = catalog.get(random.nextInt(catalog.size()));
+                title = problem.getTitle();
+                slug = problem.getTitleSlug();
+            }
+            long timestamp = EPOCH.getEpochSecond() + random.nextInt(60 * 60 * 24 * 365);
+            submissions.add(new LeetCodeSubmission(title, slug, String.valueOf(timestamp), "Accepted", "java"));
+        }
+        return submissions;
+    }
+
+    public static List<SolvedProblem> solvedProblems(String userId, List<Problem> catalog, int count) {
+        Random random = new Random(SEED);
+        List<SolvedProblem> solved = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Problem problem = catalog.get(random.nextInt(catalog.size()));
+            SolvedProblem sp = new SolvedProblem();
+            sp.setUserId(userId);
+            sp.setProblemId(problem.getId());
+            sp.setProblemName(problem.getTitle());
+            sp.setProblemSlug(problem.getTitleSlug());
+            sp.setLanguage("java");
+            sp.setSolvedAt(EPOCH.plusSeconds(random.nextInt(60 * 60 * 24 * 365)));
+            solved.add(sp);
+        }
+        return solved;
+    }
+
+    // Roughly LeetCode's mix: 25% easy, 52% medium, 23% hard
+    private static Category category(Random random) {
+        int roll = random.nextInt(100);
+        if (roll < 25) {
+            return Category.EASY;
+        }
+        return roll < 77 ? Category.MEDIUM : Category.HARD;
+    }
+}
@@ -0,0 +1,72 @@
+package com.algoverse.platform.service;
+
+import com.algoverse.platform.benchmark.SyntheticData;
+import com.algoverse.platform.catalog.ProblemCatalog;
+import com.algoverse.platform.dto.AnalysisRequest;
+import com.algoverse.platform.dto.SolvedProblemView;
+import com.algoverse.platform.entity.Problem;
+import com.algoverse.platform.entity.SolvedProblem;
+import com.algoverse.platform.entity.UserAnalytics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stats aggregation behind the analysis request: the full rebuild of a user's
+ * aggregate from solved problems, and the per-request topic normalization
+ * against the catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnalysisAggregationBenchmark {
+
+    @Param({ "3000", "30000" })
+    private int catalogSize;
+
+    @Param({ "100", "2000" })
+    private int solved;
+
+    private final UserAnalyticsService userAnalyticsService = new UserAnalyticsService(null, null);
+    private final AnalysisService analysisService = new AnalysisService(null, null, null, null);
+
+    private ProblemCatalog catalog;
+    private List<SolvedProblemView> solvedProblems;
+    private UserAnalytics aggregate;
+
+    @Setup
+    public void setUp() {
+        List<Problem> problems = SyntheticData.problems(catalogSize);
+        catalog = ProblemCatalog.of(problems);
+        solvedProblems = new ArrayList<>(solved);
+        for (SolvedProblem sp : SyntheticData.solvedProblems("user-1", problems, solved)) {
+            solvedProblems.add(new SolvedProblemView(sp.getProblemId(), sp.getProblemName(), sp.getSolvedAt()));
+        }
+        aggregate = userAnalyticsService.build("user-1", solvedProblems, catalog);
+    }
+
+    @Benchmark
+    public UserAnalytics buildAggregate() {
+        return userAnalyticsService.build("user-1", solvedProblems, catalog);
+    }
+
+    @Benchmark
+    public AnalysisRequest buildRequest() {
+        return analysisService.toAnalysisRequest("user-1", aggregate, catalog);
+    }
+}
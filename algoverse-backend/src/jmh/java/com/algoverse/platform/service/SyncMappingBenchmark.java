@@ -0,0 +1,67 @@
+package com.algoverse.platform.service;
+
+import com.algoverse.platform.benchmark.SyntheticData;
+import com.algoverse.platform.catalog.ProblemCatalog;
+import com.algoverse.platform.dto.LeetCodeSubmission;
+import com.algoverse.platform.entity.Problem;
+import com.algoverse.platform.entity.SolvedProblem;
+import com.algoverse.platform.sync.SubmissionTally;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping one user's submissions to solved problems: title resolution,
+ * watermark filtering and per-problem dedup (newest wins).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SyncMappingBenchmark {
+
+    @Param({ "20", "500", "5000" })
+    private int submissions;
+
+    @Param({ "0.3" })
+    private double duplicateRatio;
+
+    private final LeetCodeSyncService service = new LeetCodeSyncService(null, null, null, null, null);
+
+    private ProblemCatalog catalog;
+    private List<LeetCodeSubmission> input;
+    private Instant watermark;
+
+    @Setup
+    public void setUp() {
+        List<Problem> problems = SyntheticData.problems(3000);
+        catalog = ProblemCatalog.of(problems);
+        input = SyntheticData.submissions(problems, submissions, duplicateRatio, 0.1);
+        // Halfway through the generated year, so roughly half the submissions are already synced
+        watermark = Instant.parse("2023-07-02T00:00:00Z");
+    }
+
+    @Benchmark
+    public List<SolvedProblem> fullSync() {
+        return service.mapToSolvedProblems("user-1", input, catalog, null, new SubmissionTally());
+    }
+
+    @Benchmark
+    public List<SolvedProblem> incrementalSync() {
+        return service.mapToSolvedProblems("user-1", input, catalog, watermark, new SubmissionTally());
+    }
+}
@@ -0,0 +1,15 @@
+package com.algoverse.platform.cache;
+
+/**
+ * Encodes one type of cached value to bytes and back.
+ */
+public interface CacheCodec<T> {
+
+    byte[] encode(T value);
+
+    /**
+     * @return the value, or null if the bytes were written by another codec or
+     *         schema version and should be treated as a cache miss
+     */
+    T decode(byte[] bytes);
+}
@@ -0,0 +1,100 @@
+package com.algoverse.platform.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Small in-JVM cache tier that sits in front of Redis.
+ * Entries are bounded (LRU), stamped with the version they were loaded at and
+ * considered stale once the refresh TTL has elapsed.
+ */
+public class NearCache<K, V> {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Map<K, Entry<V>> entries;
+
+    public NearCache(int maxEntries, Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > NearCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value if present and within its TTL, otherwise null.
+     */
+    public synchronized V getIfFresh(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null || isExpired(entry)) {
+            return null;
+        }
+        return entry.value();
+    }
+
+    /**
+     * Like {@link #getIfFresh(Object)}, but also requires the entry to be at the given version.
+     */
+    public synchronized V getIfFresh(K key, long version) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null || entry.version() != version || isExpired(entry)) {
+            return null;
+        }
+        return entry.value();
+    }
+
+    /**
+     * Returns the entry regardless of its age, so callers can revalidate it by version.
+     */
+    public synchronized Entry<V> getEntry(K key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(K key, V value, long version) {
+        entries.put(key, new Entry<>(value, version, System.nanoTime()));
+    }
+
+    /**
+     * Restarts the TTL of an entry whose version is still current.
+     */
+    public synchronized void touch(K key, long version) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.version() == version) {
+            entries.put(key, new Entry<>(entry.value(), version, System.nanoTime()));
+        }
+    }
+
+    /**
+     * Drops the entry if it was loaded before the given version.
+     */
+    public synchronized void invalidate(K key, long version) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.version() < version) {
+            entries.remove(key);
+        }
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private boolean isExpired(Entry<V> entry) {
+        return System.nanoTime() - entry.loadedAtNanos() > ttlNanos;
+    }
+
+    public record Entry<V>(V value, long version, long loadedAtNanos) {
+    }
+}
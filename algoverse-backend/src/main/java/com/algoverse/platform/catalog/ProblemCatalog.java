@@ -0,0 +1,225 @@
+package com.algoverse.platform.catalog;
+
+import com.algoverse.platform.entity.Category;
+import com.algoverse.platform.entity.Problem;
+import com.algoverse.platform.utils.Fingerprint;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Immutable, indexed snapshot of the problem catalog.
+ * <p>
+ * Problems are assigned dense ordinals ordered by category and then id, so every
+ * category occupies a contiguous ordinal range and the ordinals are identical on
+ * every node for the same catalog content. The version is a fingerprint of that
+ * content and changes whenever any indexed field changes.
+ */
+public final class ProblemCatalog {
+
+    private static final Comparator<Problem> ORDINAL_ORDER = Comparator
+            .comparing(Problem::getCategory, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Problem::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private static final Category[] CATEGORIES = Category.values();
+
+    private final long version;
+    private final Problem[] problems;
+    private final Map<String, Integer> idIndex;
+    private final Map<String, Integer> titleIndex;
+    private final Map<String, Integer> slugIndex;
+    // categoryStart[c] .. categoryStart[c + 1] is the ordinal range of CATEGORIES[c]
+    private final int[] categoryStart;
+    private final Map<String, BitSet> topicOrdinals;
+    private final Map<String, Integer> topicTotals;
+
+    private ProblemCatalog(Problem[] problems) {
+        this.problems = problems;
+        this.idIndex = new HashMap<>(capacity(problems.length));
+        this.titleIndex = new HashMap<>(capacity(problems.length));
+        this.slugIndex = new HashMap<>(capacity(problems.length));
+        this.categoryStart = new int[CATEGORIES.length + 1];
+
+        Map<String, BitSet> topics = new HashMap<>();
+        int[] categorySizes = new int[CATEGORIES.length];
+        long hash = Fingerprint.SEED;
+
+        for (int ordinal = 0; ordinal < problems.length; ordinal++) {
+            Problem p = problems[ordinal];
+            putIfPresent(idIndex, p.getId(), ordinal);
+            putIfPresent(titleIndex, p.getTitle(), ordinal);
+            putIfPresent(slugIndex, p.getTitleSlug(), ordinal);
+
+            if (p.getCategory() != null) {
+                categorySizes[p.getCategory().ordinal()]++;
+            }
+            if (p.getTopics() != null) {
+                for (String topic : p.getTopics()) {
+                    topics.computeIfAbsent(topic, t -> new BitSet(problems.length)).set(ordinal);
+                }
+            }
+
+            hash = Fingerprint.add(hash, p.getId());
+            hash = Fingerprint.add(hash, p.getTitle());
+            hash = Fingerprint.add(hash, p.getTitleSlug());
+            hash = Fingerprint.add(hash, p.getCategory() != null ? p.getCategory().name() : null);
+            if (p.getTopics() != null) {
+                for (String topic : new TreeSet<>(p.getTopics())) {
+                    hash = Fingerprint.add(hash, topic);
+                }
+            }
+        }
+
+        for (int c = 0; c < CATEGORIES.length; c++) {
+            categoryStart[c + 1] = categoryStart[c] + categorySizes[c];
+        }
+
+        Map<String, Integer> totals = new HashMap<>(capacity(topics.size()));
+        topics.forEach((topic, bits) -> totals.put(topic, bits.cardinality()));
+
+        this.topicOrdinals = Collections.unmodifiableMap(topics);
+        this.topicTotals = Collections.unmodifiableMap(totals);
+        this.version = hash;
+    }
+
+    public static ProblemCatalog of(List<Problem> problems) {
+        Problem[] ordered = problems.toArray(new Problem[0]);
+        Arrays.sort(ordered, ORDINAL_ORDER);
+        return new ProblemCatalog(ordered);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return problems.length;
+    }
+
+    public Problem get(int ordinal) {
+        return problems[ordinal];
+    }
+
+    /**
+     * @return the ordinal of the problem with this id, or -1 if unknown
+     */
+    public int ordinalOfId(String id) {
+        return ordinal(idIndex, id);
+    }
+
+    public int ordinalOfTitle(String title) {
+        return ordinal(titleIndex, title);
+    }
+
+    public Problem findById(String id) {
+        return find(idIndex, id);
+    }
+
+    public Problem findByTitle(String title) {
+        return find(titleIndex, title);
+    }
+
+    public Problem findBySlug(String slug) {
+        return find(slugIndex, slug);
+    }
+
+    /**
+     * First ordinal (inclusive) of the given category.
+     */
+    public int categoryStart(Category category) {
+        return categoryStart[category.ordinal()];
+    }
+
+    /**
+     * Last ordinal (exclusive) of the given category.
+     */
+    public int categoryEnd(Category category) {
+        return categoryStart[category.ordinal() + 1];
+    }
+
+    public int categorySize(Category category) {
+        return categoryEnd(category) - categoryStart(category);
+    }
+
+    /**
+     * Category of an ordinal from the range table, null for uncategorised problems.
+     */
+    public Category categoryOf(int ordinal) {
+        for (int c = 0; c < CATEGORIES.length; c++) {
+            if (ordinal < categoryStart[c + 1]) {
+                return CATEGORIES[c];
+            }
+        }
+        return null;
+    }
+
+    public boolean hasTopic(String topic, int ordinal) {
+        BitSet bits = topicOrdinals.get(topic);
+        return bits != null && bits.get(ordinal);
+    }
+
+    /**
+     * Number of catalog problems tagged with the topic, precomputed at build time.
+     */
+    public int topicTotal(String topic) {
+        return topicTotals.getOrDefault(topic, 0);
+    }
+
+    /**
+     * Ordinals of the problems in the category (all if null) that carry every
+     * given topic. Returns a new set the caller may modify.
+     */
+    public BitSet matching(Set<String> topics, Category category) {
+        BitSet matches = new BitSet(problems.length);
+        if (category != null) {
+            matches.set(categoryStart(category), categoryEnd(category));
+        } else {
+            matches.set(0, problems.length);
+        }
+        if (topics != null) {
+            for (String topic : topics) {
+                BitSet bits = topicOrdinals.get(topic);
+                if (bits == null) {
+                    matches.clear();
+                    break;
+                }
+                matches.and(bits);
+            }
+        }
+        return matches;
+    }
+
+    public Set<String> topics() {
+        return topicTotals.keySet();
+    }
+
+    private int ordinal(Map<String, Integer> index, String key) {
+        if (key == null) {
+            return -1;
+        }
+        Integer ordinal = index.get(key);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    private Problem find(Map<String, Integer> index, String key) {
+        int ordinal = ordinal(index, key);
+        return ordinal >= 0 ? problems[ordinal] : null;
+    }
+
+    private static void putIfPresent(Map<String, Integer> index, String key, int ordinal) {
+        if (key != null) {
+            index.putIfAbsent(key, ordinal);
+        }
+    }
+
+    private static int capacity(int size) {
+        return (int) (size / 0.75f) + 1;
+    }
+}
@@ -1,6 +1,6 @@
 package com.algoverse.platform.config;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.algoverse.platform.http.UpstreamHttpClients;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -27,12 +27,12 @@ public class AsyncConfig {
     }
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate leetCodeRestTemplate(UpstreamHttpClients upstreamHttpClients) {
+        return upstreamHttpClients.restTemplate(UpstreamHttpClients.LEETCODE);
     }
 
     @Bean
-    public ObjectMapper objectMapper() {
-        return new ObjectMapper();
+    public RestTemplate aiRestTemplate(UpstreamHttpClients upstreamHttpClients) {
+        return upstreamHttpClients.restTemplate(UpstreamHttpClients.AI);
     }
 }
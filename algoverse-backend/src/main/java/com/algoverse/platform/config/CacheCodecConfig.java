@@ -0,0 +1,33 @@
+package com.algoverse.platform.config;
+
+import com.algoverse.platform.cache.CacheCodec;
+import com.algoverse.platform.cache.SmileCacheCodec;
+import com.algoverse.platform.dto.AnalysisResponse;
+import com.algoverse.platform.entity.Problem;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Codecs for the binary cache entries. Bump a schema version whenever the
+ * shape of its cached type changes.
+ */
+@Configuration
+public class CacheCodecConfig {
+
+    @Value("${algoverse.cache.codec.compress-threshold:1024}")
+    private int compressThreshold;
+
+    @Bean
+    public CacheCodec<List<Problem>> problemListCodec() {
+        return new SmileCacheCodec<>(new TypeReference<List<Problem>>() {}, 1, compressThreshold);
+    }
+
+    @Bean
+    public CacheCodec<AnalysisResponse> analysisResponseCodec() {
+        return new SmileCacheCodec<>(AnalysisResponse.class, 1, compressThreshold);
+    }
+}
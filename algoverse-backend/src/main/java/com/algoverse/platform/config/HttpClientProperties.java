@@ -0,0 +1,47 @@
+package com.algoverse.platform.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "algoverse.http")
+@Data
+public class HttpClientProperties {
+
+    /**
+     * Connection pool and deadline settings per upstream, keyed by upstream name.
+     */
+    private Map<String, Upstream> upstreams = new HashMap<>();
+
+    public Upstream forUpstream(String upstream) {
+        return upstreams.getOrDefault(upstream, new Upstream());
+    }
+
+    @Data
+    public static class Upstream {
+
+        private int maxConnections = 20;
+
+        private Duration connectTimeout = Duration.ofSeconds(5);
+
+        /**
+         * Maximum time to wait for the response, i.e. socket inactivity.
+         */
+        private Duration responseTimeout = Duration.ofSeconds(30);
+
+        /**
+         * Maximum time to wait for a free connection from the pool.
+         */
+        private Duration poolTimeout = Duration.ofSeconds(5);
+
+        /**
+         * Idle connections are kept alive for reuse this long.
+         */
+        private Duration keepAlive = Duration.ofSeconds(30);
+    }
+}
@@ -0,0 +1,83 @@
+package com.algoverse.platform.config;
+
+import com.algoverse.platform.entity.Problem;
+import com.algoverse.platform.entity.SolvedProblem;
+import com.algoverse.platform.entity.UserActivity;
+import com.algoverse.platform.entity.UserProfile;
+import com.algoverse.platform.repository.ProblemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates the indexes declared on {@link Problem}, {@link UserProfile},
+ * {@link SolvedProblem} and {@link UserActivity} (auto index creation is off), drops
+ * indexes they have replaced and backfills the search fields of problems stored
+ * before they existed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MongoIndexInitializer {
+
+    // Superseded by a declared index; every write would keep maintaining them otherwise
+    private static final Map<Class<?>, List<String>> OBSOLETE_INDEXES = Map.of(
+            UserProfile.class, List.of("active_next_sync_idx", "active_next_sync_cover_idx"));
+
+    private final MongoTemplate mongoTemplate;
+    private final ProblemRepository problemRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        ensureIndexes(Problem.class);
+        ensureIndexes(UserProfile.class);
+        ensureIndexes(SolvedProblem.class);
+        ensureIndexes(UserActivity.class);
+        OBSOLETE_INDEXES.forEach(this::dropIndexes);
+
+        try {
+            problemRepository.backfillSearchFields();
+        } catch (Exception ex) {
+            log.error("Failed to backfill problem search fields: {}", ex.getMessage(), ex);
+        }
+    }
+
+    private void dropIndexes(Class<?> entityType, List<String> names) {
+        IndexOperations indexOps = mongoTemplate.indexOps(entityType);
+        try {
+            for (IndexInfo index : indexOps.getIndexInfo()) {
+                if (names.contains(index.getName())) {
+                    indexOps.dropIndex(index.getName());
+                    log.info("Dropped obsolete {} index {}", entityType.getSimpleName(), index.getName());
+                }
+            }
+        } catch (Exception ex) {
+            log.error("Failed to drop obsolete {} indexes {}: {}", entityType.getSimpleName(), names,
+                    ex.getMessage());
+        }
+    }
+
+    private void ensureIndexes(Class<?> entityType) {
+        IndexOperations indexOps = mongoTemplate.indexOps(entityType);
+        MongoPersistentEntityIndexResolver resolver =
+                new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        for (IndexDefinition index : resolver.resolveIndexFor(entityType)) {
+            try {
+                indexOps.ensureIndex(index);
+            } catch (Exception ex) {
+                log.error("Failed to create {} index {}: {}", entityType.getSimpleName(), index.getIndexKeys(),
+                        ex.getMessage());
+            }
+        }
+    }
+}
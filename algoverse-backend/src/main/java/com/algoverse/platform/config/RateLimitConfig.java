@@ -0,0 +1,32 @@
+package com.algoverse.platform.config;
+
+import com.algoverse.platform.ratelimit.LocalTokenBucketRateLimiter;
+import com.algoverse.platform.ratelimit.RateLimitFilter;
+import com.algoverse.platform.ratelimit.RateLimiter;
+import com.algoverse.platform.ratelimit.RedisTokenBucketRateLimiter;
+import com.algoverse.platform.service.RedisCacheService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimiter rateLimiter(RateLimitProperties properties, RedisCacheService redisCacheService) {
+        if ("redis".equalsIgnoreCase(properties.getBackend())) {
+            return new RedisTokenBucketRateLimiter(redisCacheService);
+        }
+        return new LocalTokenBucketRateLimiter();
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimiter rateLimiter,
+            RateLimitProperties properties, ObjectMapper objectMapper) {
+        FilterRegistrationBean<RateLimitFilter> registration =
+                new FilterRegistrationBean<>(new RateLimitFilter(rateLimiter, properties, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,69 @@
+package com.algoverse.platform.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "algoverse.rate-limit")
+@Data
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * "local" keeps buckets in this JVM, "redis" shares them across nodes.
+     */
+    private String backend = "local";
+
+    private List<Route> routes = new ArrayList<>();
+
+    @Data
+    public static class Route {
+
+        /**
+         * Bucket name; routes with the same name share their buckets. Defaults to the pattern.
+         */
+        private String name;
+
+        /**
+         * Ant-style path pattern, e.g. /api/v1/analysis/**
+         */
+        private String pattern;
+
+        /**
+         * HTTP methods the route applies to; empty means all.
+         */
+        private List<String> methods = new ArrayList<>();
+
+        private Bucket perUser;
+
+        private Bucket global;
+
+        public String bucketName() {
+            return name != null ? name : pattern;
+        }
+    }
+
+    @Data
+    public static class Bucket {
+
+        /**
+         * Maximum burst size.
+         */
+        private int capacity;
+
+        /**
+         * Time to refill an empty bucket completely.
+         */
+        private Duration refillPeriod;
+
+        public double tokensPerMilli() {
+            return (double) capacity / refillPeriod.toMillis();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.algoverse.platform.config;
+
+import com.algoverse.platform.service.RedisCacheService;
+import com.algoverse.platform.sync.LocalSyncCoordinator;
+import com.algoverse.platform.sync.RedisSyncCoordinator;
+import com.algoverse.platform.sync.SyncCoordinator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SyncCoordinatorConfig {
+
+    @Bean
+    public SyncCoordinator syncCoordinator(SyncProperties properties, RedisCacheService redisCacheService) {
+        SyncProperties.Cluster cluster = properties.getCluster();
+        if ("redis".equalsIgnoreCase(cluster.getCoordinator())) {
+            return new RedisSyncCoordinator(redisCacheService, cluster.getLeaseTtl(),
+                    cluster.getRunSlot().multipliedBy(2));
+        }
+        return new LocalSyncCoordinator(cluster.getLeaseTtl());
+    }
+}
@@ -0,0 +1,140 @@
+package com.algoverse.platform.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "algoverse.sync")
+@Data
+public class SyncProperties {
+
+    /**
+     * Concurrent in-flight user syncs allowed per upstream, keyed by upstream name.
+     */
+    private Map<String, Integer> permits = new HashMap<>();
+
+    /**
+     * Permits for upstreams without an explicit entry.
+     */
+    private int defaultPermits = 8;
+
+    /**
+     * Upper bound on how long a run waits for in-flight syncs before reporting.
+     */
+    private Duration runTimeout = Duration.ofMinutes(25);
+
+    /**
+     * How long the fingerprint of a user's last processed submission list is kept.
+     */
+    private Duration fingerprintTtl = Duration.ofDays(7);
+
+    private Coalescer coalescer = new Coalescer();
+
+    private Cluster cluster = new Cluster();
+
+    private Adaptive adaptive = new Adaptive();
+
+    public int permitsFor(String upstream) {
+        return permits.getOrDefault(upstream, defaultPermits);
+    }
+
+    @Data
+    public static class Coalescer {
+
+        /**
+         * Pending writes (solved-problem upserts plus user updates) that trigger an immediate flush.
+         */
+        private int maxBatchSize = 500;
+
+        /**
+         * Maximum time a write waits in the buffer before a background flush.
+         */
+        private Duration flushInterval = Duration.ofSeconds(2);
+
+        /**
+         * Flush attempts a batch gets before it is dropped; the unmoved watermark of its users
+         * makes their next sync submit the writes again.
+         */
+        private int maxFlushAttempts = 5;
+    }
+
+    @Data
+    public static class Cluster {
+
+        /**
+         * Shard coordination backend: "local" (single node) or "redis" (shared across replicas).
+         */
+        private String coordinator = "local";
+
+        /**
+         * Shards each run's users are split into; the unit replicas claim.
+         */
+        private int shards = 16;
+
+        /**
+         * Lifetime of a shard lease. A node that stops renewing loses its shard after this long.
+         */
+        private Duration leaseTtl = Duration.ofMinutes(2);
+
+        /**
+         * How often a node renews the lease of the shard it is syncing.
+         */
+        private Duration heartbeatInterval = Duration.ofSeconds(30);
+
+        /**
+         * How often a node with nothing left to claim checks for shards freed by a dead node.
+         */
+        private Duration pollInterval = Duration.ofSeconds(5);
+
+        /**
+         * Width of the time slot that identifies a run; must match the sync cron period
+         * so every replica fired by the same trigger joins the same run.
+         */
+        private Duration runSlot = Duration.ofMinutes(30);
+
+        /**
+         * How long before the end of its run slot a node stops claiming shards, so a shard
+         * is not started when it has no time left to finish before the next run begins.
+         */
+        private Duration claimCutoff = Duration.ofMinutes(2);
+    }
+
+    @Data
+    public static class Adaptive {
+
+        /**
+         * When off, every run syncs every active user.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Most users synced per run across all replicas; the most overdue go first.
+         */
+        private int runBudget = 2000;
+
+        /**
+         * Interval after a sync that found new solves.
+         */
+        private Duration minInterval = Duration.ofMinutes(10);
+
+        /**
+         * Interval after the first idle sync; doubles with each further idle sync.
+         */
+        private Duration baseInterval = Duration.ofMinutes(30);
+
+        /**
+         * Cap on the backoff for dormant users.
+         */
+        private Duration maxInterval = Duration.ofDays(2);
+
+        /**
+         * Users who solved something this recently stay at the base interval instead of backing off.
+         */
+        private Duration hotWindow = Duration.ofDays(1);
+    }
+}
@@ -0,0 +1,46 @@
+package com.algoverse.platform.controller;
+
+import java.security.Principal;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.algoverse.platform.dto.ActivityHeatmap;
+import com.algoverse.platform.service.ActivityService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/activity")
+@RequiredArgsConstructor
+public class ActivityController {
+
+    private final ActivityService activityService;
+
+    /**
+     * Solves per day of the authenticated user over the last {@code months} months (at most 12).
+     */
+    @GetMapping("/heatmap")
+    public ResponseEntity<ActivityHeatmap> getHeatmap(
+            @RequestParam(defaultValue = "12") int months,
+            Principal principal) {
+        return ResponseEntity.ok(activityService.getUserHeatmap(authId(principal), months));
+    }
+
+    /**
+     * Solves per day across the authenticated user's batch.
+     */
+    @GetMapping("/heatmap/batch")
+    public ResponseEntity<ActivityHeatmap> getBatchHeatmap(
+            @RequestParam(defaultValue = "12") int months,
+            Principal principal) {
+        return ResponseEntity.ok(activityService.getBatchHeatmap(authId(principal), months));
+    }
+
+    private String authId(Principal principal) {
+        return (principal != null) ? principal.getName() : null;
+    }
+}
@@ -1,13 +1,18 @@
 package com.algoverse.platform.controller;
 
+import com.algoverse.platform.dto.AnalysisJobStatus;
+import com.algoverse.platform.service.AnalysisJobService;
 import com.algoverse.platform.service.AnalysisService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.security.Principal;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/v1/analysis")
@@ -16,10 +21,11 @@ import org.springframework.web.bind.annotation.*;
 public class AnalysisController {
 
     private final AnalysisService analysisService;
+    private final AnalysisJobService analysisJobService;
 
     /**
      * Generates a performance analysis report for the user.
-     * This endpoint should be rate-limited to avoid excessive AI API usage.
+     * Rate-limited per user and globally by {@code RateLimitFilter} to bound AI API usage.
      * 
      * @param userId The ID of the user requesting analysis.
      * @return The analysis report in Markdown format.
@@ -31,4 +37,27 @@ public class AnalysisController {
         String report = analysisService.generatePerformanceAnalysis(userId);
         return ResponseEntity.ok(report);
     }
+
+    /**
+     * Starts an analysis in the background and returns 202 with the job id.
+     * Poll {@code /jobs/{jobId}} or subscribe to {@code /jobs/{jobId}/stream}.
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<AnalysisJobStatus> submitAnalysisJob(Principal principal) {
+        String userId = (principal != null) ? principal.getName() : null;
+        log.info("Received async analysis request for user: {}", userId);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(analysisJobService.submit(userId));
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<AnalysisJobStatus> getAnalysisJob(@PathVariable String jobId, Principal principal) {
+        String userId = (principal != null) ? principal.getName() : null;
+        return ResponseEntity.ok(analysisJobService.getStatus(jobId, userId));
+    }
+
+    @GetMapping(value = "/jobs/{jobId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAnalysisJob(@PathVariable String jobId, Principal principal) {
+        String userId = (principal != null) ? principal.getName() : null;
+        return analysisJobService.stream(jobId, userId);
+    }
 }
@@ -1,12 +1,15 @@
 package com.algoverse.platform.controller;
 
+import java.security.Principal;
 import java.util.List;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.algoverse.platform.dto.LeaderBoardPage;
 import com.algoverse.platform.dto.LeaderBoardResponse;
 import com.algoverse.platform.service.LeaderBoardService;
 
@@ -20,8 +23,41 @@ public class LeaderboardController {
     private final LeaderBoardService leaderBoardService;
     
     @GetMapping
-    public ResponseEntity<List<LeaderBoardResponse>> getLeaderBoard() {
-        //TODO : get authId from security context
-        return ResponseEntity.ok(leaderBoardService.getLeaderBoard(""));
+    public ResponseEntity<List<LeaderBoardResponse>> getLeaderBoard(Principal principal) {
+        return ResponseEntity.ok(leaderBoardService.getLeaderBoard(authId(principal)));
+    }
+
+    /**
+     * Paged leaderboard. Pass {@code cursor} from a previous page's
+     * {@code nextCursor} to continue, otherwise {@code offset} is used.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<LeaderBoardPage> getLeaderBoardPage(
+            @RequestParam(defaultValue = "0") long offset,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String cursor,
+            Principal principal) {
+        return ResponseEntity.ok(leaderBoardService.getLeaderBoardPage(authId(principal), offset, limit, cursor));
+    }
+
+    @GetMapping("/top")
+    public ResponseEntity<LeaderBoardPage> getTop(
+            @RequestParam(defaultValue = "10") int k,
+            Principal principal) {
+        return ResponseEntity.ok(leaderBoardService.getTop(authId(principal), k));
+    }
+
+    /**
+     * The authenticated user's rank with {@code window} neighbours on each side.
+     */
+    @GetMapping("/me")
+    public ResponseEntity<LeaderBoardPage> getAroundMe(
+            @RequestParam(defaultValue = "5") int window,
+            Principal principal) {
+        return ResponseEntity.ok(leaderBoardService.getAroundMe(authId(principal), window));
+    }
+
+    private String authId(Principal principal) {
+        return (principal != null) ? principal.getName() : null;
     }
 }
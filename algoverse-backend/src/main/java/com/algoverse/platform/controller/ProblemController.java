@@ -1,6 +1,8 @@
 package com.algoverse.platform.controller;
 
+import com.algoverse.platform.dto.ProblemCursorPage;
 import com.algoverse.platform.dto.ProblemDto;
+import com.algoverse.platform.dto.ProblemSearchResponse;
 import com.algoverse.platform.entity.Category;
 import com.algoverse.platform.service.ProblemService;
 import lombok.RequiredArgsConstructor;
@@ -25,11 +27,45 @@ public class ProblemController {
             @RequestParam(required = false) Category category,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean unsolvedOnly,
             Principal principal) {
 
         String userId = (principal != null) ? principal.getName() : null;
         // TODO : to decide how to get userId
 
-        return ResponseEntity.ok(problemService.getProblems(title, topics, category, page, size, userId));
+        return ResponseEntity.ok(problemService.getProblems(title, topics, category, page, size, unsolvedOnly,
+                userId));
+    }
+
+    /**
+     * Cursor mode: pass the returned {@code nextCursor} to get the following page.
+     * Unlike page numbers, deep pages cost the same as the first one.
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<ProblemCursorPage> getProblemsByCursor(
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) Set<String> topics,
+            @RequestParam(required = false) Category category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            Principal principal) {
+
+        String userId = (principal != null) ? principal.getName() : null;
+        return ResponseEntity.ok(problemService.getProblemsAfter(title, topics, category, cursor, size,
+                includeTotal, userId));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ProblemSearchResponse> searchProblems(
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) Set<String> topics,
+            @RequestParam(required = false) Category category,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            Principal principal) {
+
+        String userId = (principal != null) ? principal.getName() : null;
+        return ResponseEntity.ok(problemService.searchProblems(title, topics, category, page, size, userId));
     }
 }
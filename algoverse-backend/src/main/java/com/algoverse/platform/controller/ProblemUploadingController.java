@@ -1,7 +1,9 @@
 package com.algoverse.platform.controller;
 
+import java.io.IOException;
 import java.util.List;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.apache.commons.collections4.CollectionUtils;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -9,9 +11,13 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.algoverse.platform.dto.IngestionReport;
 import com.algoverse.platform.entity.Problem;
+import com.algoverse.platform.service.ProblemIngestionService;
 import com.algoverse.platform.service.ProblemUploadingService;
 
+import jakarta.servlet.http.HttpServletRequest;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -22,6 +28,7 @@ import lombok.extern.slf4j.Slf4j;
 public class ProblemUploadingController {
 
     private final ProblemUploadingService problemUploadingService;
+    private final ProblemIngestionService problemIngestionService;
 
     @PostMapping("/upload")
     public ResponseEntity<String> uploadProblem(@RequestBody List<Problem> problems) {
@@ -32,4 +39,17 @@ public class ProblemUploadingController {
         problemUploadingService.uploadProblems(problems);
         return ResponseEntity.ok("Problems uploaded successfully");
     }
+
+    /**
+     * Streams NDJSON or a JSON array and upserts by title in chunks; the report
+     * has per-chunk counts and errors.
+     */
+    @PostMapping(value = "/ingest", consumes = { "application/x-ndjson", MediaType.APPLICATION_JSON_VALUE })
+    public ResponseEntity<IngestionReport> ingestProblems(HttpServletRequest request) throws IOException {
+        IngestionReport report = problemIngestionService.ingest(request.getInputStream());
+        if (report.getError() != null) {
+            return ResponseEntity.badRequest().body(report);
+        }
+        return ResponseEntity.ok(report);
+    }
 }
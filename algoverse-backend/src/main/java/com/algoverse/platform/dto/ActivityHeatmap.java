@@ -0,0 +1,22 @@
+package com.algoverse.platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.SortedMap;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ActivityHeatmap {
+    private String scope;
+    private String ownerId;
+    private LocalDate from;
+    private LocalDate to;
+    private int total;
+    private SortedMap<LocalDate, Integer> days; // active days only
+}
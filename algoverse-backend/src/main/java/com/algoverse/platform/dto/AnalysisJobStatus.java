@@ -0,0 +1,28 @@
+package com.algoverse.platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalysisJobStatus {
+
+    public enum State {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private String jobId;
+    private State state;
+    private String report;
+    private Instant createdAt;
+    private Instant completedAt;
+}
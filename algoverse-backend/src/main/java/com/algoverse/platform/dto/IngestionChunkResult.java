@@ -0,0 +1,22 @@
+package com.algoverse.platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class IngestionChunkResult {
+    private int chunk;
+    private int received;
+    private int inserted;
+    private int updated;
+    private int unchanged;
+    private int failed;
+    private List<String> errors;
+}
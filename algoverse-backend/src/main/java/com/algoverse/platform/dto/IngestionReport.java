@@ -0,0 +1,29 @@
+package com.algoverse.platform.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@NoArgsConstructor
+@Data
+public class IngestionReport {
+    private List<IngestionChunkResult> chunks = new ArrayList<>();
+    private int received;
+    private int inserted;
+    private int updated;
+    private int unchanged;
+    private int failed;
+    // Set when the input could not be parsed to the end; chunks before it were applied
+    private String error;
+
+    public void add(IngestionChunkResult chunk) {
+        chunks.add(chunk);
+        received += chunk.getReceived();
+        inserted += chunk.getInserted();
+        updated += chunk.getUpdated();
+        unchanged += chunk.getUnchanged();
+        failed += chunk.getFailed();
+    }
+}
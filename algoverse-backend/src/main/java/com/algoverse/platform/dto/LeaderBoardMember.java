@@ -0,0 +1,16 @@
+package com.algoverse.platform.dto;
+
+import com.algoverse.platform.entity.Stats;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderBoardMember {
+    private String displayName;
+    private String leetCodeUserName;
+    // Exact counts for display; the ranking score saturates them, see LeaderBoardScore
+    private Stats stats;
+}
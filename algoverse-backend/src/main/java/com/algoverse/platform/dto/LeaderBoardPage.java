@@ -0,0 +1,19 @@
+package com.algoverse.platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class LeaderBoardPage {
+    private List<LeaderBoardResponse> entries;
+    private Long totalUsers;
+    private Long offset;
+    private String nextCursor;
+}
@@ -0,0 +1,29 @@
+package com.algoverse.platform.dto;
+
+import com.algoverse.platform.entity.Stats;
+import com.algoverse.platform.entity.UserProfile;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Read model of a user_profile document with only what a leaderboard entry needs.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderBoardUserView {
+
+    public static final String[] FIELDS = {"displayName", "leetCodeUserName", "batchId", "stats"};
+
+    private String id;
+    private String displayName;
+    private String leetCodeUserName;
+    private String batchId;
+    private Stats stats;
+
+    public static LeaderBoardUserView of(UserProfile profile) {
+        return new LeaderBoardUserView(profile.getId(), profile.getDisplayName(), profile.getLeetCodeUserName(),
+                profile.getBatchId(), profile.getStats());
+    }
+}
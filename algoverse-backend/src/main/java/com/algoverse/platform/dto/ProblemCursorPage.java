@@ -0,0 +1,20 @@
+package com.algoverse.platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ProblemCursorPage {
+    private List<ProblemDto> results;
+    // Null on the last page
+    private String nextCursor;
+    // Only set when the total was requested
+    private Long total;
+}
@@ -0,0 +1,18 @@
+package com.algoverse.platform.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+public class ProblemSearchResponse {
+    private List<ProblemDto> results;
+    private long total;
+    private int page;
+    private int size;
+    private Map<String, Long> topicCounts;
+    private Map<String, Long> categoryCounts;
+}
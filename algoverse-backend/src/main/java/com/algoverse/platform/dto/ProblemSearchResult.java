@@ -0,0 +1,20 @@
+package com.algoverse.platform.dto;
+
+import com.algoverse.platform.entity.Problem;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProblemSearchResult {
+    private List<Problem> problems;
+    private long total;
+    // Facet counts over all matches, highest first; empty when facets were not requested
+    private Map<String, Long> topicCounts;
+    private Map<String, Long> categoryCounts;
+}
@@ -0,0 +1,20 @@
+package com.algoverse.platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Read model of a solved_problems document for analytics, served from the
+ * user_solve_view_idx index without fetching documents.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SolvedProblemView {
+    private String problemId;
+    private String problemName;
+    private Instant solvedAt;
+}
@@ -0,0 +1,28 @@
+package com.algoverse.platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Read model of a user_profile document with only what a sync run needs.
+ * All fields are in the sync scheduling index, so loading due users is index-only.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncUserView {
+
+    public static final String[] FIELDS = {"leetCodeUserName", "batchId", "syncWatermark", "syncCatalogVersion",
+            "nextSyncAt", "idleSyncStreak"};
+
+    private String id;
+    private String leetCodeUserName;
+    private String batchId;
+    private Instant syncWatermark;
+    private Long syncCatalogVersion;
+    private Instant nextSyncAt;
+    private Integer idleSyncStreak;
+}
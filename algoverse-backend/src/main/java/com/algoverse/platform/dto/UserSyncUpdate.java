@@ -0,0 +1,103 @@
+package com.algoverse.platform.dto;
+
+import com.algoverse.platform.entity.Problem;
+import com.algoverse.platform.entity.RecentSolve;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Accumulated profile changes from one or more syncs of a user, applied in a single update.
+ * Stats and topic increments are credited by the write coalescer from the rows its upsert
+ * actually inserted, so they count each solved problem once.
+ */
+@Data
+@NoArgsConstructor
+public class UserSyncUpdate {
+    private String userId;
+    private String batchId;
+    private int easyDiff;
+    private int mediumDiff;
+    private int hardDiff;
+    private Instant watermark;
+    private Long catalogVersion;
+    private Instant nextSyncAt;
+    private Integer idleSyncStreak;
+    private Map<String, Integer> topicDiffs = new HashMap<>();
+    private List<RecentSolve> recentSolves = new ArrayList<>();
+
+    public UserSyncUpdate(String userId, int easyDiff, int mediumDiff, int hardDiff, Instant watermark) {
+        this.userId = userId;
+        this.easyDiff = easyDiff;
+        this.mediumDiff = mediumDiff;
+        this.hardDiff = hardDiff;
+        this.watermark = watermark;
+    }
+
+    /**
+     * Schedule-only update: when the user is due next, and their idle streak.
+     */
+    public static UserSyncUpdate schedule(String userId, Instant nextSyncAt, int idleSyncStreak) {
+        UserSyncUpdate update = new UserSyncUpdate();
+        update.setUserId(userId);
+        update.setNextSyncAt(nextSyncAt);
+        update.setIdleSyncStreak(idleSyncStreak);
+        return update;
+    }
+
+    /**
+     * Counts a newly inserted solved problem towards the stats and topic increments.
+     */
+    public void credit(Problem problem) {
+        if (problem == null) {
+            return;
+        }
+        if (problem.getCategory() != null) {
+            switch (problem.getCategory()) {
+                case EASY -> easyDiff++;
+                case MEDIUM -> mediumDiff++;
+                case HARD -> hardDiff++;
+            }
+        }
+        if (problem.getTopics() != null) {
+            for (String topic : problem.getTopics()) {
+                topicDiffs.merge(topic, 1, Integer::sum);
+            }
+        }
+    }
+
+    public boolean hasStatsChange() {
+        return easyDiff != 0 || mediumDiff != 0 || hardDiff != 0;
+    }
+
+    public boolean hasAnalyticsChange() {
+        return hasStatsChange() || !topicDiffs.isEmpty() || !recentSolves.isEmpty();
+    }
+
+    public void merge(UserSyncUpdate other) {
+        easyDiff += other.easyDiff;
+        mediumDiff += other.mediumDiff;
+        hardDiff += other.hardDiff;
+        other.topicDiffs.forEach((topic, diff) -> topicDiffs.merge(topic, diff, Integer::sum));
+        recentSolves.addAll(other.recentSolves);
+        if (other.watermark != null && (watermark == null || other.watermark.isAfter(watermark))) {
+            watermark = other.watermark;
+        }
+        if (other.catalogVersion != null) {
+            catalogVersion = other.catalogVersion;
+        }
+        if (other.batchId != null) {
+            batchId = other.batchId;
+        }
+        // The schedule comes from the latest sync
+        if (other.nextSyncAt != null) {
+            nextSyncAt = other.nextSyncAt;
+            idleSyncStreak = other.idleSyncStreak;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.algoverse.platform.entity;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One month of solve counts for a user or a batch, maintained with {@code $inc} upserts.
+ * The id is {@code {scope}:{ownerId}:{yyyy-MM}}, so a year of one owner is a
+ * range scan of at most 12 documents on the _id index.
+ */
+@Document(collection = "activity_months")
+@Data
+public class ActivityMonth {
+
+    public static final String SCOPE_USER = "user";
+    public static final String SCOPE_BATCH = "batch";
+
+    @Id
+    private String id;
+    private String scope;
+    private String ownerId;
+    private String month; // yyyy-MM
+    private Map<String, Integer> days = new HashMap<>(); // day of month -> solves
+    private int total;
+
+    public static String idOf(String scope, String ownerId, String month) {
+        return scope + ":" + ownerId + ":" + month;
+    }
+}
@@ -1,7 +1,11 @@
 package com.algoverse.platform.entity;
 
+import com.algoverse.platform.utils.TitleNormalizer;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -9,6 +13,10 @@ import java.util.Set;
 
 @Document(collection = "problems")
 @Data
+@CompoundIndexes({
+    @CompoundIndex(def = "{'category': 1, 'topics': 1}", name = "category_topics_idx"),
+    @CompoundIndex(def = "{'topics': 1, 'category': 1}", name = "topics_category_idx")
+})
 public class Problem {
 
     @Id
@@ -19,4 +27,17 @@ public class Problem {
     private String titleSlug;
     private Set<String> topics;
     private Category category;
+
+    // Search fields derived from the title, see TitleNormalizer
+    @JsonIgnore
+    @Indexed
+    private String normalizedTitle;
+    @JsonIgnore
+    @Indexed
+    private Set<String> titleGrams;
+
+    public void refreshSearchFields() {
+        this.normalizedTitle = TitleNormalizer.normalize(title);
+        this.titleGrams = TitleNormalizer.grams(normalizedTitle);
+    }
 }
@@ -0,0 +1,15 @@
+package com.algoverse.platform.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecentSolve {
+    private String problemName;
+    private Instant solvedAt;
+}
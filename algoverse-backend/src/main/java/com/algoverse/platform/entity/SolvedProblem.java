@@ -10,6 +10,7 @@ import java.time.Instant;
 @Document(collection = "solved_problems")
 @Data
 @CompoundIndex(def = "{'userId': 1, 'problemId': 1}", name = "user_problem_idx", unique = true)
+@CompoundIndex(def = "{'userId': 1, 'problemId': 1, 'problemName': 1, 'solvedAt': 1}", name = "user_solve_view_idx")
 public class SolvedProblem {
 
     @Id
@@ -0,0 +1,28 @@
+package com.algoverse.platform.entity;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Per-user solve activity as one bit per day, plus the streaks derived from it.
+ * Bit {@code i} is set if the user solved something on day {@code i} counted
+ * from {@code ActivityDays.ORIGIN} in the platform time zone; stored as
+ * {@link java.util.BitSet#toByteArray()} (about 46 bytes per year of history).
+ */
+@Document(collection = "user_activity")
+@CompoundIndex(name = "streak_expiry_idx", def = "{'currentStreak': 1, 'lastActiveDay': 1}")
+@Data
+public class UserActivity {
+    @Id
+    private String userId;
+    private byte[] days;
+    private int currentStreak;
+    private int maxStreak;
+    private int lastActiveDay = -1; // day index of the newest solve, -1 = none
+    private String revision; // changes on every write, see UserActivityRepository#bulkSaveIfRevision
+    private Instant updatedAt;
+}
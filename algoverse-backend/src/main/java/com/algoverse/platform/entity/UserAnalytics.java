@@ -0,0 +1,41 @@
+package com.algoverse.platform.entity;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-user analytics aggregate maintained incrementally by the sync pipeline.
+ * Topic names are stored as map keys, so '.' and '$' are escaped (see {@link #encodeTopic}).
+ */
+@Document(collection = "user_analytics")
+@Data
+public class UserAnalytics {
+
+    public static final int RECENT_SOLVES_LIMIT = 5;
+
+    @Id
+    private String userId;
+    private int totalSolved;
+    private int easySolved;
+    private int mediumSolved;
+    private int hardSolved;
+    private Map<String, Integer> topicSolved = new HashMap<>();
+    private List<RecentSolve> recentSolves = new ArrayList<>(); // newest first, bounded
+    private String syncApplyToken; // last coalesced sync write applied, makes retries idempotent
+    private Instant updatedAt;
+
+    public static String encodeTopic(String topic) {
+        return topic.replace(".", "\uFF0E").replace("$", "\uFF04");
+    }
+
+    public static String decodeTopic(String key) {
+        return key.replace("\uFF0E", ".").replace("\uFF04", "$");
+    }
+}
@@ -2,12 +2,16 @@ package com.algoverse.platform.entity;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
 
 @Document(collection = "user_profile")
+// Covers the due-users query with its SyncUserView projection
+@CompoundIndex(name = "sync_due_cover_idx", def = "{'active': 1, 'nextSyncAt': 1, '_id': 1, "
+        + "'leetCodeUserName': 1, 'batchId': 1, 'syncWatermark': 1, 'syncCatalogVersion': 1, 'idleSyncStreak': 1}")
 @Data
 public class UserProfile {
     @Id
@@ -24,6 +28,12 @@ public class UserProfile {
     private Instant updatedAt;
     private SyncStatus syncStatus;
     private Instant lastSyncedAt;
+    private Instant syncWatermark; // newest solvedAt already processed by sync
+    private Long syncCatalogVersion; // problem catalog the watermark was taken against
+    private Instant nextSyncAt; // null = due now
+    private Integer idleSyncStreak; // consecutive syncs that found nothing new
+    private String syncApplyToken; // last coalesced sync write applied, makes retries idempotent
+    private Instant syncClaimedUntil; // a node is syncing this user until then, see SyncEngine
     private Integer currentStreak;
     private Integer maxStreak;
     @Indexed
@@ -0,0 +1,7 @@
+package com.algoverse.platform.exception;
+
+public class AnalysisJobNotFoundException extends RuntimeException {
+    public AnalysisJobNotFoundException(String message) {
+        super(message);
+    }
+}
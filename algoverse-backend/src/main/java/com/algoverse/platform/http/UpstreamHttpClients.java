@@ -0,0 +1,114 @@
+package com.algoverse.platform.http;
+
+import com.algoverse.platform.config.HttpClientProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * One pooled HTTP/1.1 keep-alive client per upstream.
+ * <p>
+ * Each upstream gets its own connection pool so a slow upstream cannot starve
+ * another of connections. Connections are reused across requests and threads,
+ * so repeated calls to the same host skip the TCP and TLS handshakes.
+ */
+@Component
+@Slf4j
+public class UpstreamHttpClients {
+
+    public static final String LEETCODE = "leetcode";
+    public static final String AI = "ai";
+
+    private final HttpClientProperties properties;
+    private final UpstreamMetrics upstreamMetrics;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, CloseableHttpClient> clients = new ConcurrentHashMap<>();
+
+    public UpstreamHttpClients(HttpClientProperties properties, UpstreamMetrics upstreamMetrics,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.upstreamMetrics = upstreamMetrics;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * A RestTemplate backed by the upstream's pool and instrumented with its metrics.
+     */
+    public RestTemplate restTemplate(String upstream) {
+        CloseableHttpClient client = clients.computeIfAbsent(upstream, this::newClient);
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(client));
+        restTemplate.getInterceptors().add(new UpstreamMetricsInterceptor(upstream, upstreamMetrics));
+        return restTemplate;
+    }
+
+    private CloseableHttpClient newClient(String upstream) {
+        HttpClientProperties.Upstream config = properties.forUpstream(upstream);
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(config.getMaxConnections())
+                .setMaxConnPerRoute(config.getMaxConnections())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(config.getConnectTimeout()))
+                        .setSocketTimeout(Timeout.of(config.getResponseTimeout()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+        registerPoolGauges(upstream, connectionManager);
+
+        TimeValue keepAlive = TimeValue.of(config.getKeepAlive());
+        log.info("Created HTTP pool for upstream {} with {} connections", upstream, config.getMaxConnections());
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(config.getPoolTimeout()))
+                        .setResponseTimeout(Timeout.of(config.getResponseTimeout()))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> keepAlive)
+                .evictIdleConnections(keepAlive)
+                .evictExpiredConnections()
+                .build();
+    }
+
+    private void registerPoolGauges(String upstream, PoolingHttpClientConnectionManager connectionManager) {
+        registerPoolGauge(upstream, "leased", connectionManager, cm -> cm.getTotalStats().getLeased());
+        registerPoolGauge(upstream, "available", connectionManager, cm -> cm.getTotalStats().getAvailable());
+        registerPoolGauge(upstream, "pending", connectionManager, cm -> cm.getTotalStats().getPending());
+    }
+
+    private void registerPoolGauge(String upstream, String state, PoolingHttpClientConnectionManager connectionManager,
+            ToDoubleFunction<PoolingHttpClientConnectionManager> value) {
+        Gauge.builder("algoverse.http.client.pool.connections", connectionManager, value)
+                .description("Connections in the upstream's pool by state")
+                .tag("upstream", upstream)
+                .tag("state", state)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void close() {
+        clients.forEach((upstream, client) -> {
+            try {
+                client.close();
+            } catch (IOException ex) {
+                log.warn("Failed to close HTTP pool for upstream {}: {}", upstream, ex.getMessage());
+            }
+        });
+    }
+}
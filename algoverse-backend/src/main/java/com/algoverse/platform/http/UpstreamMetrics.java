@@ -0,0 +1,59 @@
+package com.algoverse.platform.http;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency histograms and error counters for outbound calls, tagged by upstream.
+ */
+@Component
+public class UpstreamMetrics {
+
+    private static final String REQUESTS = "algoverse.http.client.requests";
+    private static final String ERRORS = "algoverse.http.client.errors";
+
+    private final MeterRegistry meterRegistry;
+
+    public UpstreamMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Records a completed exchange. Non-2xx statuses also count as errors.
+     */
+    public void recordResponse(String upstream, int status, long durationNanos) {
+        timer(upstream, String.valueOf(status)).record(durationNanos, TimeUnit.NANOSECONDS);
+        if (status / 100 != 2) {
+            errorCounter(upstream, (status / 100) + "xx").increment();
+        }
+    }
+
+    /**
+     * Records an exchange that failed without a response (connect, pool or read timeout, I/O error).
+     */
+    public void recordFailure(String upstream, Throwable error, long durationNanos) {
+        timer(upstream, "IO_ERROR").record(durationNanos, TimeUnit.NANOSECONDS);
+        errorCounter(upstream, error.getClass().getSimpleName()).increment();
+    }
+
+    private Timer timer(String upstream, String status) {
+        return Timer.builder(REQUESTS)
+                .description("Outbound HTTP request latency")
+                .tag("upstream", upstream)
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private Counter errorCounter(String upstream, String type) {
+        return Counter.builder(ERRORS)
+                .description("Outbound HTTP requests that failed or returned a non-2xx status")
+                .tag("upstream", upstream)
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,36 @@
+package com.algoverse.platform.http;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Times every request of one upstream's RestTemplate.
+ */
+public class UpstreamMetricsInterceptor implements ClientHttpRequestInterceptor {
+
+    private final String upstream;
+    private final UpstreamMetrics upstreamMetrics;
+
+    public UpstreamMetricsInterceptor(String upstream, UpstreamMetrics upstreamMetrics) {
+        this.upstream = upstream;
+        this.upstreamMetrics = upstreamMetrics;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        long startNanos = System.nanoTime();
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            upstreamMetrics.recordResponse(upstream, response.getStatusCode().value(), System.nanoTime() - startNanos);
+            return response;
+        } catch (IOException | RuntimeException ex) {
+            upstreamMetrics.recordFailure(upstream, ex, System.nanoTime() - startNanos);
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.algoverse.platform.ratelimit;
+
+import com.algoverse.platform.config.RateLimitProperties;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory token buckets, one per key. Limits apply per node.
+ */
+public class LocalTokenBucketRateLimiter implements RateLimiter {
+
+    private static final int MAX_BUCKETS = 100_000;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    @Override
+    public RateLimitDecision tryAcquire(String bucketKey, RateLimitProperties.Bucket bucket) {
+        if (buckets.size() > MAX_BUCKETS) {
+            evictFullBuckets();
+        }
+        return buckets.computeIfAbsent(bucketKey, k -> new TokenBucket(bucket.getCapacity()))
+                .tryAcquire(bucket, System.currentTimeMillis());
+    }
+
+    @Override
+    public void refund(String bucketKey, RateLimitProperties.Bucket bucket) {
+        TokenBucket tokenBucket = buckets.get(bucketKey);
+        if (tokenBucket != null) {
+            tokenBucket.refund();
+        }
+    }
+
+    // A full bucket behaves exactly like a missing one, so dropping it is safe
+    private void evictFullBuckets() {
+        long now = System.currentTimeMillis();
+        buckets.values().removeIf(b -> b.isFullAt(now));
+    }
+
+    private static final class TokenBucket {
+
+        private final int capacity;
+        private double tokens;
+        private long lastRefillMillis;
+        private double tokensPerMilli;
+
+        private TokenBucket(int capacity) {
+            this.capacity = capacity;
+            this.tokens = capacity;
+            this.lastRefillMillis = System.currentTimeMillis();
+        }
+
+        synchronized RateLimitDecision tryAcquire(RateLimitProperties.Bucket bucket, long now) {
+            tokensPerMilli = bucket.tokensPerMilli();
+            refill(now);
+            if (tokens >= 1d) {
+                tokens -= 1d;
+                return RateLimitDecision.ALLOWED;
+            }
+            return RateLimitDecision.rejected((long) Math.ceil((1d - tokens) / tokensPerMilli));
+        }
+
+        synchronized void refund() {
+            tokens = Math.min(capacity, tokens + 1d);
+        }
+
+        synchronized boolean isFullAt(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+
+        private void refill(long now) {
+            if (now > lastRefillMillis) {
+                tokens = Math.min(capacity, tokens + (now - lastRefillMillis) * tokensPerMilli);
+                lastRefillMillis = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.algoverse.platform.ratelimit;
+
+public record RateLimitDecision(boolean allowed, long retryAfterMillis) {
+
+    public static final RateLimitDecision ALLOWED = new RateLimitDecision(true, 0L);
+
+    public static RateLimitDecision rejected(long retryAfterMillis) {
+        return new RateLimitDecision(false, retryAfterMillis);
+    }
+}
@@ -0,0 +1,103 @@
+package com.algoverse.platform.ratelimit;
+
+import com.algoverse.platform.config.RateLimitProperties;
+import com.algoverse.platform.dto.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Principal;
+
+/**
+ * Applies the configured token buckets to matching routes. A request takes a
+ * token from the caller's own bucket first and then from the route-wide one,
+ * so a single caller running dry never drains capacity shared with others.
+ * Rejected requests get 429 with a Retry-After header in seconds.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimitFilter(RateLimiter rateLimiter, RateLimitProperties properties, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || properties.getRoutes().isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getServletPath() + (request.getPathInfo() != null ? request.getPathInfo() : "");
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            if (!matches(route, request.getMethod(), path)) {
+                continue;
+            }
+            String userBucket = "user:" + route.bucketName() + ":" + callerKey(request);
+            if (route.getPerUser() != null) {
+                RateLimitDecision decision = rateLimiter.tryAcquire(userBucket, route.getPerUser());
+                if (!decision.allowed()) {
+                    reject(response, decision, "Too many requests, please try again later");
+                    return;
+                }
+            }
+            if (route.getGlobal() != null) {
+                RateLimitDecision decision = rateLimiter.tryAcquire(
+                        "global:" + route.bucketName(), route.getGlobal());
+                if (!decision.allowed()) {
+                    // The request was not served, so it must not count against the caller
+                    if (route.getPerUser() != null) {
+                        rateLimiter.refund(userBucket, route.getPerUser());
+                    }
+                    reject(response, decision, "Service is busy, please try again later");
+                    return;
+                }
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    private boolean matches(RateLimitProperties.Route route, String method, String path) {
+        if (!route.getMethods().isEmpty()
+                && route.getMethods().stream().noneMatch(m -> m.equalsIgnoreCase(method))) {
+            return false;
+        }
+        return pathMatcher.match(route.getPattern(), path);
+    }
+
+    // Authenticated callers are limited per user, anonymous ones per client address
+    private String callerKey(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null && principal.getName() != null) {
+            return principal.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, RateLimitDecision decision, String message) throws IOException {
+        long retryAfterSeconds = Math.max(1L, (decision.retryAfterMillis() + 999L) / 1000L);
+        log.debug("Rate limit exceeded, retry after {}s", retryAfterSeconds);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorResponse(message, HttpStatus.TOO_MANY_REQUESTS.value()));
+    }
+}
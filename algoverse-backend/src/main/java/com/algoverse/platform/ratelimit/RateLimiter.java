@@ -0,0 +1,16 @@
+package com.algoverse.platform.ratelimit;
+
+import com.algoverse.platform.config.RateLimitProperties;
+
+/**
+ * Token-bucket rate limiter. Each call takes one token from the named bucket.
+ */
+public interface RateLimiter {
+
+    RateLimitDecision tryAcquire(String bucketKey, RateLimitProperties.Bucket bucket);
+
+    /**
+     * Gives back a token taken by {@link #tryAcquire}, up to the bucket's capacity.
+     */
+    void refund(String bucketKey, RateLimitProperties.Bucket bucket);
+}
@@ -0,0 +1,90 @@
+package com.algoverse.platform.ratelimit;
+
+import com.algoverse.platform.config.RateLimitProperties;
+import com.algoverse.platform.service.RedisCacheService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+/**
+ * Token buckets shared by every node, stored as Redis hashes and updated by a
+ * Lua script so refill and take happen atomically. Time comes from the Redis
+ * server clock, so nodes with skewed clocks still agree.
+ * <p>
+ * If Redis is unavailable the request is allowed: the limiter protects cost,
+ * it must not take the endpoint down with it.
+ */
+@Slf4j
+public class RedisTokenBucketRateLimiter implements RateLimiter {
+
+    private static final String KEY_PREFIX = "ratelimit:";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TOKEN_BUCKET = new DefaultRedisScript<>("""
+            local capacity = tonumber(ARGV[1])
+            local per_milli = tonumber(ARGV[2])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(bucket[1]) or capacity
+            local ts = tonumber(bucket[2]) or now
+            if now > ts then
+              tokens = math.min(capacity, tokens + (now - ts) * per_milli)
+            end
+            local allowed = 0
+            local retry_after = 0
+            if tokens >= 1 then
+              tokens = tokens - 1
+              allowed = 1
+            else
+              retry_after = math.ceil((1 - tokens) / per_milli)
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+            redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / per_milli))
+            return {allowed, retry_after}
+            """, List.class);
+
+    // A bucket that expired meanwhile is full anyway
+    private static final RedisScript<Long> REFUND = new DefaultRedisScript<>("""
+            local tokens = tonumber(redis.call('HGET', KEYS[1], 'tokens'))
+            if tokens then
+              redis.call('HSET', KEYS[1], 'tokens', tostring(math.min(tonumber(ARGV[1]), tokens + 1)))
+            end
+            return 0
+            """, Long.class);
+
+    private final RedisCacheService redisCacheService;
+
+    public RedisTokenBucketRateLimiter(RedisCacheService redisCacheService) {
+        this.redisCacheService = redisCacheService;
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String bucketKey, RateLimitProperties.Bucket bucket) {
+        try {
+            List<?> result = redisCacheService.execute(TOKEN_BUCKET, List.of(KEY_PREFIX + bucketKey),
+                    bucket.getCapacity(), bucket.tokensPerMilli());
+            if (result == null || result.size() < 2) {
+                return RateLimitDecision.ALLOWED;
+            }
+            if (((Number) result.get(0)).longValue() == 1L) {
+                return RateLimitDecision.ALLOWED;
+            }
+            return RateLimitDecision.rejected(((Number) result.get(1)).longValue());
+        } catch (Exception ex) {
+            log.warn("Rate limit check for {} failed, allowing request: {}", bucketKey, ex.getMessage());
+            return RateLimitDecision.ALLOWED;
+        }
+    }
+
+    @Override
+    public void refund(String bucketKey, RateLimitProperties.Bucket bucket) {
+        try {
+            redisCacheService.execute(REFUND, List.of(KEY_PREFIX + bucketKey), bucket.getCapacity());
+        } catch (Exception ex) {
+            log.warn("Rate limit refund for {} failed: {}", bucketKey, ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.algoverse.platform.repository;
+
+import com.algoverse.platform.entity.ActivityMonth;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+@Slf4j
+@Repository
+public class ActivityMonthRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Adds per-day solve counts to month buckets, creating missing buckets.
+     */
+    public void bulkIncrement(Collection<MonthIncrement> increments) {
+        if (increments.isEmpty()) {
+            return;
+        }
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ActivityMonth.class);
+        for (MonthIncrement increment : increments) {
+            Update update = new Update()
+                    .setOnInsert("scope", increment.scope())
+                    .setOnInsert("ownerId", increment.ownerId())
+                    .setOnInsert("month", increment.month());
+            int total = 0;
+            for (Map.Entry<Integer, Integer> day : increment.days().entrySet()) {
+                update.inc("days." + day.getKey(), day.getValue());
+                total += day.getValue();
+            }
+            update.inc("total", total);
+            String id = ActivityMonth.idOf(increment.scope(), increment.ownerId(), increment.month());
+            bulkOps.upsert(new Query(Criteria.where("_id").is(id)), update);
+        }
+        bulkOps.execute();
+        log.debug("Incremented {} activity buckets", increments.size());
+    }
+
+    /**
+     * Buckets of one owner between two months (yyyy-MM, inclusive), oldest first.
+     */
+    public List<ActivityMonth> findRange(String scope, String ownerId, String fromMonth, String toMonth) {
+        Query query = new Query(Criteria.where("_id")
+                .gte(ActivityMonth.idOf(scope, ownerId, fromMonth))
+                .lte(ActivityMonth.idOf(scope, ownerId, toMonth)))
+                .with(Sort.by("_id"));
+        return mongoTemplate.find(query, ActivityMonth.class);
+    }
+
+    public record MonthIncrement(String scope, String ownerId, String month, Map<Integer, Integer> days) {
+    }
+}
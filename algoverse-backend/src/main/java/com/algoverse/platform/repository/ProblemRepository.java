@@ -1,24 +1,45 @@
 package com.algoverse.platform.repository;
 
+import com.algoverse.platform.cache.CacheCodec;
+import com.algoverse.platform.cache.NearCache;
+import com.algoverse.platform.dto.ProblemSearchResult;
 import com.algoverse.platform.entity.Problem;
 import com.algoverse.platform.service.RedisCacheService;
+import com.algoverse.platform.utils.TitleNormalizer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import com.mongodb.bulk.BulkWriteError;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
-
-import java.time.Duration;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.FacetOperation;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.regex.Pattern;
 import com.algoverse.platform.entity.Category;
 
@@ -28,47 +49,279 @@ import com.algoverse.platform.entity.Category;
 public class ProblemRepository {
 
     private static final String PROBLEMS_CACHE_KEY = "problems:all";
+    // The shared list is stored per version, so a list read before a bump can never be served after it
+    private static final String PROBLEMS_LIST_KEY_PREFIX = "problems:all:list:";
+    private static final String PROBLEMS_VERSION_KEY = "problems:all:version";
+    private static final String PROBLEMS_INVALIDATION_CHANNEL = "problems:invalidate";
     private static final Duration CACHE_TTL = Duration.ofHours(12);
+    private static final String PROBLEMS_COUNT_KEY_PREFIX = "problems:count:";
+    private static final Duration COUNT_CACHE_TTL = Duration.ofMinutes(10);
+    private static final Sort FACET_ORDER = Sort.by(Sort.Direction.DESC, "count").and(Sort.by("_id"));
 
     private final MongoTemplate mongoTemplate;
     private final RedisCacheService redisCacheService;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final CacheCodec<List<Problem>> problemListCodec;
+
+    @Value("${algoverse.cache.problems.near.max-entries:4}")
+    private int nearCacheMaxEntries;
+
+    @Value("${algoverse.cache.problems.near.ttl:PT5M}")
+    private Duration nearCacheTtl;
+
+    private NearCache<String, List<Problem>> nearCache;
+
+    @PostConstruct
+    void initNearCache() {
+        nearCache = new NearCache<>(nearCacheMaxEntries, nearCacheTtl);
+        listenerContainer.addMessageListener(this::onInvalidation, new ChannelTopic(PROBLEMS_INVALIDATION_CHANNEL));
+    }
 
-    @SuppressWarnings("unchecked")
     public List<Problem> getAllProblems() {
+        // 1. In-process near cache: hits never leave the heap
+        List<Problem> localProblems = nearCache.getIfFresh(PROBLEMS_CACHE_KEY);
+        if (localProblems != null) {
+            return localProblems;
+        }
+
+        // 2. TTL elapsed - revalidate by version before paying for the full list
+        long version = redisCacheService.getLong(PROBLEMS_VERSION_KEY);
+        NearCache.Entry<List<Problem>> staleEntry = nearCache.getEntry(PROBLEMS_CACHE_KEY);
+        if (staleEntry != null && staleEntry.version() == version) {
+            nearCache.touch(PROBLEMS_CACHE_KEY, version);
+            return staleEntry.value();
+        }
+
+        List<Problem> problems = List.copyOf(loadAllProblems(version));
+        nearCache.put(PROBLEMS_CACHE_KEY, problems, version);
+        log.info("Near cache loaded {} problems at version {}", problems.size(), version);
+        return problems;
+    }
+
+    private List<Problem> loadAllProblems(long version) {
         // Try to get from cache first
-        List<Problem> cachedProblems = redisCacheService.get(PROBLEMS_CACHE_KEY, List.class);
+        String key = listKey(version);
+        List<Problem> cachedProblems = problemListCodec.decode(redisCacheService.getBytes(key));
 
         if (cachedProblems != null) {
             log.debug("Fetching problems from Redis Cache");
             return cachedProblems;
         }
 
-        // Cache miss - fetch from database
+        // Cache miss - fetch from database. Writers bump the version after writing to Mongo,
+        // so what is read here is at least as new as the version it is stored under
         log.info("Cache miss - fetching all problems from Mongo");
         List<Problem> problems = mongoTemplate.findAll(Problem.class);
 
         // Store in cache
-        redisCacheService.set(PROBLEMS_CACHE_KEY, problems, CACHE_TTL);
-        log.info("Cached {} problems with TTL of {} hours", problems.size(), CACHE_TTL.toHours());
+        redisCacheService.setBytes(key, problemListCodec.encode(problems), CACHE_TTL);
+        log.info("Cached {} problems at version {} with TTL of {} hours", problems.size(), version,
+                CACHE_TTL.toHours());
 
         return problems;
     }
 
+    private static String listKey(long version) {
+        return PROBLEMS_LIST_KEY_PREFIX + version;
+    }
+
     public void saveAll(List<Problem> problems) {
-        log.info("Saving {} problems and evicting cache", problems.size());
+        log.info("Saving {} problems and bumping the cache version", problems.size());
+        problems.forEach(Problem::refreshSearchFields);
         mongoTemplate.insertAll(problems);
 
-        // Evict cache after saving
-        redisCacheService.delete(PROBLEMS_CACHE_KEY);
-        log.info("Cache evicted for key: {}", PROBLEMS_CACHE_KEY);
+        // Bump the version, which retires the cached list, and tell every node to drop its near cache copy
+        long version = redisCacheService.increment(PROBLEMS_VERSION_KEY);
+        redisCacheService.delete(listKey(version - 1));
+        nearCache.invalidate(PROBLEMS_CACHE_KEY);
+        redisCacheService.publish(PROBLEMS_INVALIDATION_CHANNEL, version);
+        log.info("Published problem cache invalidation at version {}", version);
+    }
+
+    public List<Problem> findByTitles(Collection<String> titles) {
+        return mongoTemplate.find(Query.query(Criteria.where("title").in(titles)), Problem.class);
+    }
+
+    /**
+     * Upserts the problems by title in one unordered bulk write, so a bad
+     * document does not stop the rest.
+     *
+     * @return failure reason by title, empty if all writes succeeded
+     */
+    public Map<String, String> bulkUpsertByTitle(List<Problem> problems) {
+        if (problems.isEmpty()) {
+            return Map.of();
+        }
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Problem.class);
+        for (Problem problem : problems) {
+            problem.refreshSearchFields();
+            bulkOps.upsert(Query.query(Criteria.where("title").is(problem.getTitle())),
+                    new Update()
+                            .set("problemUrl", problem.getProblemUrl())
+                            .set("titleSlug", problem.getTitleSlug())
+                            .set("topics", problem.getTopics())
+                            .set("category", problem.getCategory())
+                            .set("normalizedTitle", problem.getNormalizedTitle())
+                            .set("titleGrams", problem.getTitleGrams()));
+        }
+        try {
+            bulkOps.execute();
+            return Map.of();
+        } catch (BulkOperationException ex) {
+            Map<String, String> failures = new LinkedHashMap<>();
+            for (BulkWriteError error : ex.getErrors()) {
+                failures.put(problems.get(error.getIndex()).getTitle(), error.getMessage());
+            }
+            return failures;
+        }
+    }
+
+    /**
+     * Applies changed problems to the shared cached list without a cold reload:
+     * they are merged by id into the list of the current version, which is
+     * stored as the next version in one compare-and-set on the version key. If
+     * the list is not cached, or another writer bumped the version meanwhile,
+     * the version is bumped without a list and the next reader loads from Mongo.
+     */
+    public void applyToCache(List<Problem> changed) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        long version = redisCacheService.getLong(PROBLEMS_VERSION_KEY);
+        List<Problem> cached = problemListCodec.decode(redisCacheService.getBytes(listKey(version)));
+        if (cached != null) {
+            List<Problem> merged = merge(cached, changed);
+            if (redisCacheService.setBytesIfVersion(PROBLEMS_VERSION_KEY, version, listKey(version + 1),
+                    problemListCodec.encode(merged), CACHE_TTL)) {
+                redisCacheService.delete(listKey(version));
+                nearCache.put(PROBLEMS_CACHE_KEY, merged, version + 1);
+                redisCacheService.publish(PROBLEMS_INVALIDATION_CHANNEL, version + 1);
+                log.info("Applied {} changed problems to the problem cache at version {}", changed.size(),
+                        version + 1);
+                return;
+            }
+            log.info("Problem cache version moved past {} while applying changes, evicting instead", version);
+        }
+
+        long next = redisCacheService.increment(PROBLEMS_VERSION_KEY);
+        redisCacheService.delete(listKey(next - 1));
+        nearCache.invalidate(PROBLEMS_CACHE_KEY);
+        redisCacheService.publish(PROBLEMS_INVALIDATION_CHANNEL, next);
+        log.info("Evicted the problem cache for {} changed problems at version {}", changed.size(), next);
+    }
+
+    // Changed problems replace their cached entry by id; new ones are appended
+    private static List<Problem> merge(List<Problem> cached, List<Problem> changed) {
+        Map<String, Problem> byId = new LinkedHashMap<>();
+        for (Problem problem : cached) {
+            byId.put(problem.getId(), problem);
+        }
+        for (Problem problem : changed) {
+            byId.put(problem.getId(), problem);
+        }
+        return List.copyOf(byId.values());
+    }
+
+    private void onInvalidation(Message message, byte[] pattern) {
+        Object payload = redisCacheService.deserialize(message.getBody());
+        if (payload instanceof Number version) {
+            nearCache.invalidate(PROBLEMS_CACHE_KEY, version.longValue());
+        } else {
+            nearCache.invalidate(PROBLEMS_CACHE_KEY);
+        }
+        log.debug("Near cache invalidated by message {}", payload);
     }
 
     public Page<Problem> findProblems(String title, Set<String> topics, Category category, Pageable pageable) {
+        ProblemSearchResult result = searchProblems(title, topics, category, pageable, false);
+        return new PageImpl<>(result.getProblems(), pageable, result.getTotal());
+    }
+
+    /**
+     * Filters, pages and counts in one aggregation round trip. The title filter
+     * is a case-insensitive substring match on the normalized title, narrowed
+     * through the trigram index first; queries shorter than a trigram have no
+     * gram to narrow by and scan the normalized titles. With {@code withFacets} the per-topic and per-category
+     * counts of all matches are returned as well.
+     */
+    public ProblemSearchResult searchProblems(String title, Set<String> topics, Category category,
+            Pageable pageable, boolean withFacets) {
+        Criteria match = searchCriteria(title, topics, category);
+
+        FacetOperation facet = Aggregation
+                .facet(Aggregation.sort(Sort.by("_id")),
+                        Aggregation.skip(pageable.getOffset()),
+                        Aggregation.limit(pageable.getPageSize())).as("results")
+                .and(Aggregation.count().as("count")).as("total");
+        if (withFacets) {
+            facet = facet
+                    .and(Aggregation.unwind("topics"),
+                            Aggregation.group("topics").count().as("count"),
+                            Aggregation.sort(FACET_ORDER)).as("topics")
+                    .and(Aggregation.group("category").count().as("count"),
+                            Aggregation.sort(FACET_ORDER)).as("categories");
+        }
+
+        Document output = mongoTemplate
+                .aggregate(Aggregation.newAggregation(Aggregation.match(match), facet), Problem.class, Document.class)
+                .getUniqueMappedResult();
+        if (output == null) {
+            return new ProblemSearchResult(List.of(), 0L, Map.of(), Map.of());
+        }
+
+        List<Problem> problems = new ArrayList<>();
+        for (Document document : output.getList("results", Document.class, List.of())) {
+            problems.add(mongoTemplate.getConverter().read(Problem.class, document));
+        }
+        List<Document> total = output.getList("total", Document.class, List.of());
+        long count = total.isEmpty() ? 0L : ((Number) total.get(0).get("count")).longValue();
+
+        return new ProblemSearchResult(problems, count,
+                facetCounts(output.getList("topics", Document.class, List.of())),
+                facetCounts(output.getList("categories", Document.class, List.of())));
+    }
+
+    /**
+     * Up to {@code limit} matches with an id greater than {@code afterId}, in id order.
+     * Keyset pagination: every page is an index range scan, however deep.
+     */
+    public List<Problem> findProblemsAfter(String title, Set<String> topics, Category category, String afterId,
+            int limit) {
+        Criteria match = searchCriteria(title, topics, category);
+        Query query = new Query(match);
+        if (afterId != null) {
+            query.addCriteria(Criteria.where("_id").gt(afterId));
+        }
+        query.with(Sort.by("_id")).limit(limit);
+        return mongoTemplate.find(query, Problem.class);
+    }
+
+    /**
+     * Number of matches, cached per filter until the problem set changes.
+     */
+    public long countProblems(String title, Set<String> topics, Category category) {
+        long version = redisCacheService.getLong(PROBLEMS_VERSION_KEY);
+        String key = PROBLEMS_COUNT_KEY_PREFIX + version + ":" + countCacheKey(title, topics, category);
+        Number cached = redisCacheService.get(key, Number.class);
+        if (cached != null) {
+            return cached.longValue();
+        }
+        long count = mongoTemplate.count(new Query(searchCriteria(title, topics, category)), Problem.class);
+        redisCacheService.set(key, count, COUNT_CACHE_TTL);
+        return count;
+    }
+
+    private Criteria searchCriteria(String title, Set<String> topics, Category category) {
         List<Criteria> criteria = new ArrayList<>();
 
-        if (StringUtils.hasText(title)) {
-            // Case-insensitive regex search for title containing the query string
-            criteria.add(Criteria.where("title").regex(Pattern.quote(title), "i"));
+        String normalizedTitle = TitleNormalizer.normalize(title);
+        if (StringUtils.hasText(normalizedTitle)) {
+            Set<String> grams = TitleNormalizer.grams(normalizedTitle);
+            // Grams only narrow the candidates; the regex keeps the match exact
+            if (!grams.isEmpty()) {
+                criteria.add(Criteria.where("titleGrams").all(grams));
+            }
+            criteria.add(Criteria.where("normalizedTitle").regex(Pattern.quote(normalizedTitle)));
         }
 
         if (topics != null && !topics.isEmpty()) {
@@ -76,19 +329,62 @@ public class ProblemRepository {
         }
 
         if (category != null) {
-            criteria.add(Criteria.where("category").is(category));
+            criteria.add(Criteria.where("category").is(category.name()));
         }
 
-        Query query = new Query();
-        if (!criteria.isEmpty()) {
-            query.addCriteria(new Criteria().andOperator(criteria.toArray(new Criteria[0])));
+        return criteria.isEmpty()
+                ? new Criteria()
+                : new Criteria().andOperator(criteria.toArray(new Criteria[0]));
+    }
+
+    private String countCacheKey(String title, Set<String> topics, Category category) {
+        StringBuilder key = new StringBuilder();
+        String normalizedTitle = TitleNormalizer.normalize(title);
+        key.append(normalizedTitle != null ? normalizedTitle : "");
+        key.append('|');
+        if (topics != null) {
+            key.append(String.join(",", new TreeSet<>(topics)));
         }
+        key.append('|');
+        key.append(category != null ? category.name() : "");
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(key.toString().getBytes(StandardCharsets.UTF_8));
+    }
 
-        long count = mongoTemplate.count(query, Problem.class);
+    /**
+     * Fills normalizedTitle and titleGrams on problems stored before they existed.
+     *
+     * @return number of problems updated
+     */
+    public int backfillSearchFields() {
+        Query missing = new Query(Criteria.where("normalizedTitle").exists(false));
+        missing.fields().include("title");
+        List<Problem> problems = mongoTemplate.find(missing, Problem.class);
+        if (problems.isEmpty()) {
+            return 0;
+        }
 
-        query.with(pageable);
-        List<Problem> problems = mongoTemplate.find(query, Problem.class);
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Problem.class);
+        for (Problem problem : problems) {
+            problem.refreshSearchFields();
+            bulkOps.updateOne(Query.query(Criteria.where("_id").is(problem.getId())),
+                    new Update()
+                            .set("normalizedTitle", problem.getNormalizedTitle())
+                            .set("titleGrams", problem.getTitleGrams()));
+        }
+        bulkOps.execute();
+        log.info("Backfilled search fields on {} problems", problems.size());
+        return problems.size();
+    }
 
-        return new PageImpl<>(problems, pageable, count);
+    private Map<String, Long> facetCounts(List<Document> buckets) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Document bucket : buckets) {
+            Object key = bucket.get("_id");
+            if (key != null) {
+                counts.put(key.toString(), ((Number) bucket.get("count")).longValue());
+            }
+        }
+        return counts;
     }
 }
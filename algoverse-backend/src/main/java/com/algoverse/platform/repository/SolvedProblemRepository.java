@@ -1,9 +1,14 @@
 package com.algoverse.platform.repository;
 
+import com.algoverse.platform.dto.SolvedProblemView;
 import com.algoverse.platform.entity.SolvedProblem;
 import com.algoverse.platform.utils.Constants;
 import lombok.RequiredArgsConstructor;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.BulkOperationException;
 import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
@@ -12,7 +17,13 @@ import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RequiredArgsConstructor
 @Slf4j
@@ -21,38 +32,110 @@ public class SolvedProblemRepository {
 
     private final MongoTemplate mongoTemplate;
 
-    public void bulkUpsertProblems(String userId, List<SolvedProblem> problems) {
+    /**
+     * Upserts solved problems belonging to many users in one unordered bulk write
+     * and reports which rows did not exist before and which existing rows moved to
+     * a later solve time. If some writes fail, the outcome of the others is carried
+     * by the {@link PartialUpsertException}.
+     */
+    public UpsertResult bulkUpsertProblems(List<SolvedProblem> problems) {
+        if (problems.isEmpty()) {
+            return new UpsertResult(List.of(), List.of());
+        }
+        Map<String, Instant> stored = findStoredSolveTimes(problems);
         BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SolvedProblem.class);
-
         Instant now = Instant.now();
-
         for (SolvedProblem p : problems) {
-            Query q = Query.query(Criteria.where(Constants.USER_ID).is(userId)
-                    .and(Constants.PROBLEM_ID).is(p.getProblemId()));
-
-            Update u = new Update()
-                    .set(Constants.USER_ID, p.getUserId())
-                    .set(Constants.PROBLEM_SLUG, p.getProblemSlug())
-                    .set(Constants.PROBLEM_NAME, p.getProblemName())
-                    .set(Constants.PROBLEM_ID, p.getProblemId())
-                    .set(Constants.LANGUAGE, p.getLanguage())
-                    .set(Constants.SOLVED_AT, p.getSolvedAt())
-                    .set(Constants.UPDATED_AT, now)
-                    .setOnInsert(Constants.CREATED_AT, now);
-
-            bulkOps.upsert(q, u);
+            addUpsert(bulkOps, p.getUserId(), p, now);
         }
+        try {
+            UpsertResult result = result(bulkOps.execute(), problems, stored, Set.of());
+            log.debug("Bulk upserted {} problems across users, {} new, {} re-solved",
+                    problems.size(), result.inserted().size(), result.resolved().size());
+            return result;
+        } catch (BulkOperationException ex) {
+            Set<Integer> failed = new HashSet<>();
+            for (BulkWriteError error : ex.getErrors()) {
+                failed.add(error.getIndex());
+            }
+            throw new PartialUpsertException(result(ex.getResult(), problems, stored, failed), ex);
+        }
+    }
 
-        if (!problems.isEmpty()) {
-            bulkOps.execute();
-            log.info("Bulk upserted {} problems for user {}", problems.size(), userId);
+    // Upserts are reported by their index in the bulk, which follows the input order
+    private static UpsertResult result(BulkWriteResult result, List<SolvedProblem> problems,
+            Map<String, Instant> stored, Set<Integer> failed) {
+        Set<Integer> upserted = new HashSet<>();
+        List<SolvedProblem> inserted = new ArrayList<>(result.getUpserts().size());
+        for (BulkWriteUpsert upsert : result.getUpserts()) {
+            upserted.add(upsert.getIndex());
+            inserted.add(problems.get(upsert.getIndex()));
         }
+        List<SolvedProblem> resolved = new ArrayList<>();
+        for (int i = 0; i < problems.size(); i++) {
+            SolvedProblem p = problems.get(i);
+            String key = key(p.getUserId(), p.getProblemId());
+            if (!upserted.contains(i) && !failed.contains(i) && stored.containsKey(key)
+                    && isAfter(p.getSolvedAt(), stored.get(key))) {
+                resolved.add(p);
+            }
+        }
+        return new UpsertResult(inserted, resolved);
     }
 
-    public List<SolvedProblem> getSolvedProblemsFromUser(String userId) {
-        Query query = new Query();
-        query.addCriteria(Criteria.where(Constants.USER_ID).is(userId));
-        return mongoTemplate.find(query, SolvedProblem.class);
+    // Solve times of the rows that already exist, read from user_solve_view_idx alone
+    private Map<String, Instant> findStoredSolveTimes(List<SolvedProblem> problems) {
+        Set<String> userIds = new HashSet<>();
+        Set<String> problemIds = new HashSet<>();
+        for (SolvedProblem p : problems) {
+            userIds.add(p.getUserId());
+            problemIds.add(p.getProblemId());
+        }
+        Query query = new Query(Criteria.where(Constants.USER_ID).in(userIds).and(Constants.PROBLEM_ID).in(problemIds));
+        query.fields().include(Constants.USER_ID, Constants.PROBLEM_ID, Constants.SOLVED_AT).exclude("_id");
+        Map<String, Instant> stored = new HashMap<>();
+        for (SolvedProblem row : mongoTemplate.find(query, SolvedProblem.class)) {
+            stored.put(key(row.getUserId(), row.getProblemId()), row.getSolvedAt());
+        }
+        return stored;
+    }
+
+    private static String key(String userId, String problemId) {
+        return userId + ':' + problemId;
+    }
+
+    private static boolean isAfter(Instant candidate, Instant current) {
+        return candidate != null && (current == null || candidate.isAfter(current));
+    }
+
+    private void addUpsert(BulkOperations bulkOps, String userId, SolvedProblem p, Instant now) {
+        Query q = Query.query(Criteria.where(Constants.USER_ID).is(userId)
+                .and(Constants.PROBLEM_ID).is(p.getProblemId()));
+
+        Update u = new Update()
+                .set(Constants.USER_ID, p.getUserId())
+                .set(Constants.PROBLEM_SLUG, p.getProblemSlug())
+                .set(Constants.PROBLEM_NAME, p.getProblemName())
+                .set(Constants.PROBLEM_ID, p.getProblemId())
+                .set(Constants.LANGUAGE, p.getLanguage())
+                .set(Constants.SOLVED_AT, p.getSolvedAt())
+                .set(Constants.UPDATED_AT, now)
+                .setOnInsert(Constants.CREATED_AT, now);
+
+        bulkOps.upsert(q, u);
+    }
+
+    /**
+     * What analytics needs of each solved problem, answered from user_solve_view_idx alone.
+     */
+    public List<SolvedProblemView> findSolvedProblemViews(String userId) {
+        Query query = new Query(Criteria.where(Constants.USER_ID).is(userId));
+        query.fields().include(Constants.PROBLEM_ID, Constants.PROBLEM_NAME, Constants.SOLVED_AT).exclude("_id");
+        return mongoTemplate.query(SolvedProblem.class).as(SolvedProblemView.class).matching(query).all();
+    }
+
+    public long countByUserId(String userId) {
+        return mongoTemplate.count(new Query(Criteria.where(Constants.USER_ID).is(userId)), SolvedProblem.class);
     }
 
     public List<SolvedProblem> findSolvedProblemsByProblemIds(String userId, List<String> problemIds) {
@@ -61,4 +144,50 @@ public class SolvedProblemRepository {
                 .and(Constants.PROBLEM_ID).in(problemIds));
         return mongoTemplate.find(query, SolvedProblem.class);
     }
+
+    /**
+     * Problem ids solved by the user, projected from the (userId, problemId) index.
+     */
+    public List<String> findSolvedProblemIds(String userId) {
+        Query query = new Query(Criteria.where(Constants.USER_ID).is(userId));
+        query.fields().include(Constants.PROBLEM_ID).exclude("_id");
+        List<String> problemIds = new ArrayList<>();
+        for (SolvedProblem problem : mongoTemplate.find(query, SolvedProblem.class)) {
+            problemIds.add(problem.getProblemId());
+        }
+        return problemIds;
+    }
+
+    /**
+     * (userId, solvedAt) of every solved problem of the given users, projected.
+     */
+    public List<SolvedProblem> findSolveTimes(Collection<String> userIds) {
+        Query query = new Query(Criteria.where(Constants.USER_ID).in(userIds).and(Constants.SOLVED_AT).ne(null));
+        query.fields().include(Constants.USER_ID).include(Constants.SOLVED_AT).exclude("_id");
+        return mongoTemplate.find(query, SolvedProblem.class);
+    }
+
+    public List<String> findDistinctUserIds() {
+        return mongoTemplate.findDistinct(new Query(), Constants.USER_ID, SolvedProblem.class, String.class);
+    }
+
+    /**
+     * Rows a bulk upsert inserted, and existing rows it moved to a later solve time.
+     */
+    public record UpsertResult(List<SolvedProblem> inserted, List<SolvedProblem> resolved) {
+    }
+
+    public static class PartialUpsertException extends RuntimeException {
+
+        private final transient UpsertResult result;
+
+        public PartialUpsertException(UpsertResult result, BulkOperationException cause) {
+            super("Bulk upsert partially failed: " + cause.getErrors().size() + " errors", cause);
+            this.result = result;
+        }
+
+        public UpsertResult getResult() {
+            return result;
+        }
+    }
 }
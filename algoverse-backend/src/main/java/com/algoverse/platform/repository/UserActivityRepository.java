@@ -0,0 +1,131 @@
+package com.algoverse.platform.repository;
+
+import com.algoverse.platform.entity.UserActivity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+@Slf4j
+@Repository
+public class UserActivityRepository {
+
+    private static final String CURRENT_STREAK = "currentStreak";
+    private static final String LAST_ACTIVE_DAY = "lastActiveDay";
+    private static final String REVISION = "revision";
+
+    private final MongoTemplate mongoTemplate;
+
+    public List<UserActivity> findByUserIds(Collection<String> userIds) {
+        return mongoTemplate.find(new Query(Criteria.where("_id").in(userIds)), UserActivity.class);
+    }
+
+    /**
+     * Current revision by user id; users without a document are absent.
+     */
+    public Map<String, String> findRevisions(Collection<String> userIds) {
+        Query query = new Query(Criteria.where("_id").in(userIds));
+        query.fields().include("_id").include(REVISION);
+        Map<String, String> revisions = new HashMap<>();
+        for (UserActivity activity : mongoTemplate.find(query, UserActivity.class)) {
+            revisions.put(activity.getUserId(), activity.getRevision());
+        }
+        return revisions;
+    }
+
+    public boolean isEmpty() {
+        return !mongoTemplate.exists(new Query(), UserActivity.class);
+    }
+
+    /**
+     * Replaces (or creates) the given activity documents in one unordered bulk
+     * write, each only if its stored revision is still the one it was computed
+     * from ({@link UserActivity#getRevision()}, null for a new document).
+     *
+     * @return ids of the users whose document changed meanwhile and was left as is
+     */
+    public Set<String> bulkSaveIfRevision(Collection<UserActivity> activities) {
+        if (activities.isEmpty()) {
+            return Set.of();
+        }
+        String revision = UUID.randomUUID().toString();
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserActivity.class);
+        Instant now = Instant.now();
+        List<String> userIds = new ArrayList<>(activities.size());
+        for (UserActivity activity : activities) {
+            Update update = new Update()
+                    .set("days", activity.getDays())
+                    .set(CURRENT_STREAK, activity.getCurrentStreak())
+                    .set("maxStreak", activity.getMaxStreak())
+                    .set(LAST_ACTIVE_DAY, activity.getLastActiveDay())
+                    .set(REVISION, revision)
+                    .set("updatedAt", now);
+            // On a stale revision the filter misses and the upsert fails on the duplicate _id
+            bulkOps.upsert(new Query(Criteria.where("_id").is(activity.getUserId())
+                    .and(REVISION).is(activity.getRevision())), update);
+            userIds.add(activity.getUserId());
+        }
+        try {
+            bulkOps.execute();
+        } catch (BulkOperationException ex) {
+            log.debug("{} activity writes hit a concurrent change", ex.getErrors().size());
+        }
+
+        Set<String> conflicts = new HashSet<>();
+        findRevisions(userIds).forEach((userId, stored) -> {
+            if (!revision.equals(stored)) {
+                conflicts.add(userId);
+            }
+        });
+        log.debug("Saved activity for {} users, {} conflicts", activities.size() - conflicts.size(),
+                conflicts.size());
+        return conflicts;
+    }
+
+    /**
+     * Ends the current streak of users whose newest solve is before {@code activeSince},
+     * returning the ids of the documents this call changed. The condition is checked again
+     * by the update and each change gets a new revision, so a solve recorded in between is
+     * neither overwritten nor reported.
+     */
+    public List<String> expireStreaks(int activeSince) {
+        Query query = new Query(Criteria.where(CURRENT_STREAK).gt(0).and(LAST_ACTIVE_DAY).lt(activeSince));
+        query.fields().include("_id");
+        List<String> userIds = new ArrayList<>();
+        for (UserActivity activity : mongoTemplate.find(query, UserActivity.class)) {
+            userIds.add(activity.getUserId());
+        }
+        if (userIds.isEmpty()) {
+            return userIds;
+        }
+        String revision = UUID.randomUUID().toString();
+        mongoTemplate.updateMulti(new Query(Criteria.where("_id").in(userIds)
+                        .and(CURRENT_STREAK).gt(0).and(LAST_ACTIVE_DAY).lt(activeSince)),
+                new Update().set(CURRENT_STREAK, 0).set(REVISION, revision).set("updatedAt", Instant.now()),
+                UserActivity.class);
+
+        List<String> expiredIds = new ArrayList<>();
+        findRevisions(userIds).forEach((userId, stored) -> {
+            if (revision.equals(stored)) {
+                expiredIds.add(userId);
+            }
+        });
+        return expiredIds;
+    }
+}
@@ -0,0 +1,92 @@
+package com.algoverse.platform.repository;
+
+import com.algoverse.platform.dto.UserSyncUpdate;
+import com.algoverse.platform.entity.UserAnalytics;
+import com.algoverse.platform.utils.Constants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+
+@RequiredArgsConstructor
+@Slf4j
+@Repository
+public class UserAnalyticsRepository {
+
+    private static final String SYNC_APPLY_TOKEN = "syncApplyToken";
+
+    private final MongoTemplate mongoTemplate;
+
+    public UserAnalytics findByUserId(String userId) {
+        return mongoTemplate.findById(userId, UserAnalytics.class);
+    }
+
+    /**
+     * Stores a freshly built aggregate unless one already exists. Never overwrites,
+     * so increments applied to a stored aggregate are not lost.
+     *
+     * @return false when an aggregate already existed
+     */
+    public boolean insertIfAbsent(UserAnalytics analytics) {
+        try {
+            mongoTemplate.insert(analytics);
+            return true;
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+    }
+
+    public void deleteByUserId(String userId) {
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(userId)), UserAnalytics.class);
+    }
+
+    /**
+     * Applies coalesced sync deltas. Documents are only updated, never created here:
+     * a missing aggregate is built in full from solved_problems on first read.
+     */
+    public void bulkApplySyncUpdates(Collection<UserSyncUpdate> updates, String applyToken) {
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserAnalytics.class);
+        Instant now = Instant.now();
+        int count = 0;
+        for (UserSyncUpdate u : updates) {
+            if (!u.hasAnalyticsChange()) {
+                continue;
+            }
+            Update update = new Update()
+                    .inc("easySolved", u.getEasyDiff())
+                    .inc("mediumSolved", u.getMediumDiff())
+                    .inc("hardSolved", u.getHardDiff())
+                    .inc("totalSolved", u.getEasyDiff() + u.getMediumDiff() + u.getHardDiff())
+                    .set(Constants.UPDATED_AT, now)
+                    .set(SYNC_APPLY_TOKEN, applyToken);
+            for (Map.Entry<String, Integer> topic : u.getTopicDiffs().entrySet()) {
+                update.inc("topicSolved." + UserAnalytics.encodeTopic(topic.getKey()), topic.getValue());
+            }
+            if (!u.getRecentSolves().isEmpty()) {
+                // Bounded ring: keep only the newest entries
+                update.push("recentSolves")
+                        .sort(Sort.by(Sort.Direction.DESC, Constants.SOLVED_AT))
+                        .slice(UserAnalytics.RECENT_SOLVES_LIMIT)
+                        .each(u.getRecentSolves().toArray());
+            }
+            // A retry of an already applied batch matches nothing, so increments land once
+            bulkOps.updateOne(new Query(Criteria.where("_id").is(u.getUserId()).and(SYNC_APPLY_TOKEN).ne(applyToken)),
+                    update);
+            count++;
+        }
+        if (count > 0) {
+            bulkOps.execute();
+            log.debug("Bulk applied analytics updates for {} users", count);
+        }
+    }
+}
@@ -1,23 +1,35 @@
 package com.algoverse.platform.repository;
 
+import com.algoverse.platform.dto.LeaderBoardUserView;
+import com.algoverse.platform.dto.SyncUserView;
+import com.algoverse.platform.dto.UserSyncUpdate;
 import com.algoverse.platform.entity.Stats;
+import com.algoverse.platform.entity.UserActivity;
+import com.algoverse.platform.entity.SyncStatus;
 import com.algoverse.platform.entity.UserProfile;
 import com.algoverse.platform.utils.Constants;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 @RequiredArgsConstructor
 @Slf4j
+@Repository
 public class UserRepository {
 
+    private static final String SYNC_APPLY_TOKEN = "syncApplyToken";
+    private static final String SYNC_CLAIMED_UNTIL = "syncClaimedUntil";
+
     private final MongoTemplate mongoTemplate;
 
     public void updateStats(String userId, Stats stats) {
@@ -34,23 +46,99 @@ public class UserRepository {
         log.info("Updated stats for user {}", userId);
     }
 
-    public void incrementStats(String userId, int easyDiff, int mediumDiff, int hardDiff) {
-        Query query = new Query(Criteria.where("id").is(userId));
-        Update update = new Update()
-                .inc("stats.easySolved", easyDiff)
-                .inc("stats.mediumSolved", mediumDiff)
-                .inc("stats.hardSolved", hardDiff)
-                .inc("stats.totalSolved", easyDiff + mediumDiff + hardDiff)
-                .set("updatedAt", Instant.now());
+    /**
+     * Applies coalesced stats increments and watermark moves for many users in one bulk write.
+     */
+    public void bulkApplySyncUpdates(Collection<UserSyncUpdate> updates, String applyToken) {
+        if (updates.isEmpty()) {
+            return;
+        }
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserProfile.class);
+        Instant now = Instant.now();
+        for (UserSyncUpdate u : updates) {
+            Update update = new Update().set("updatedAt", now).set(SYNC_APPLY_TOKEN, applyToken);
+            if (u.hasStatsChange()) {
+                update.inc("stats.easySolved", u.getEasyDiff())
+                        .inc("stats.mediumSolved", u.getMediumDiff())
+                        .inc("stats.hardSolved", u.getHardDiff())
+                        .inc("stats.totalSolved", u.getEasyDiff() + u.getMediumDiff() + u.getHardDiff());
+            }
+            if (u.getWatermark() != null) {
+                update.set("syncWatermark", u.getWatermark())
+                        .set("lastSyncedAt", now)
+                        .set("syncStatus", SyncStatus.COMPLETED);
+            }
+            if (u.getCatalogVersion() != null) {
+                update.set("syncCatalogVersion", u.getCatalogVersion());
+            }
+            if (u.getNextSyncAt() != null) {
+                update.set("nextSyncAt", u.getNextSyncAt())
+                        .set("idleSyncStreak", u.getIdleSyncStreak());
+            }
+            // A retry of an already applied batch matches nothing, so increments land once
+            bulkOps.updateOne(new Query(Criteria.where("id").is(u.getUserId()).and(SYNC_APPLY_TOKEN).ne(applyToken)),
+                    update);
+        }
+        bulkOps.execute();
+        log.debug("Bulk applied sync updates for {} users", updates.size());
+    }
 
-        mongoTemplate.updateFirst(query, update, UserProfile.class);
-        log.info("Incremented stats for user {}: +E{}, +M{}, +H{}", userId, easyDiff, mediumDiff, hardDiff);
+    /**
+     * Copies the derived streaks onto the profiles in one bulk write.
+     */
+    public void bulkUpdateStreaks(Collection<UserActivity> activities) {
+        if (activities.isEmpty()) {
+            return;
+        }
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserProfile.class);
+        for (UserActivity activity : activities) {
+            bulkOps.updateOne(new Query(Criteria.where("id").is(activity.getUserId())), new Update()
+                    .set("currentStreak", activity.getCurrentStreak())
+                    .set("maxStreak", activity.getMaxStreak()));
+        }
+        bulkOps.execute();
     }
 
-    public List<UserProfile> findActiveUserProfile() {
-        Query query = new Query();
-        query.addCriteria(Criteria.where("active").is(true));
-        return mongoTemplate.find(query, UserProfile.class);
+    /**
+     * Claims the user for one sync until the given time. Fails while another claim
+     * holds, so two nodes never sync the same user at once.
+     */
+    public boolean claimSync(String userId, Instant now, Instant until) {
+        Query query = new Query(Criteria.where("id").is(userId).orOperator(
+                Criteria.where(SYNC_CLAIMED_UNTIL).is(null),
+                Criteria.where(SYNC_CLAIMED_UNTIL).lte(now)));
+        return mongoTemplate.updateFirst(query, new Update().set(SYNC_CLAIMED_UNTIL, until), UserProfile.class)
+                .getModifiedCount() > 0;
+    }
+
+    public void resetCurrentStreaks(Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        mongoTemplate.updateMulti(new Query(Criteria.where("id").in(userIds)),
+                new Update().set("currentStreak", 0), UserProfile.class);
+    }
+
+    /**
+     * Active users whose next sync time has passed or was never set, as sync read models.
+     */
+    public List<SyncUserView> findDueSyncUsers(Instant now) {
+        return findViews(Criteria.where("active").is(true)
+                        .orOperator(Criteria.where("nextSyncAt").is(null), Criteria.where("nextSyncAt").lte(now)),
+                SyncUserView.class, SyncUserView.FIELDS);
+    }
+
+    public List<SyncUserView> findActiveSyncUsers() {
+        return findViews(Criteria.where("active").is(true), SyncUserView.class, SyncUserView.FIELDS);
+    }
+
+    public List<LeaderBoardUserView> findLeaderBoardViews(String batchId) {
+        return findViews(Criteria.where(Constants.BATCH_ID).is(batchId),
+                LeaderBoardUserView.class, LeaderBoardUserView.FIELDS);
+    }
+
+    public List<LeaderBoardUserView> findLeaderBoardViewsByIds(Collection<String> userIds) {
+        return findViews(Criteria.where("id").in(userIds), LeaderBoardUserView.class, LeaderBoardUserView.FIELDS);
     }
 
     public UserProfile findByLeetCodeUserName(String leetCodeUserName) {
@@ -70,4 +158,17 @@ public class UserRepository {
         query.addCriteria(Criteria.where(Constants.AUTH_ID).is(authId));
         return mongoTemplate.findOne(query, UserProfile.class);
     }
+
+    public List<String> findDistinctBatchIds() {
+        Query query = new Query();
+        query.addCriteria(Criteria.where(Constants.BATCH_ID).ne(null));
+        return mongoTemplate.findDistinct(query, Constants.BATCH_ID, UserProfile.class, String.class);
+    }
+
+    // Reads only the listed fields (plus _id) of user_profile into a read model
+    private <T> List<T> findViews(Criteria criteria, Class<T> view, String... fields) {
+        Query query = new Query(criteria);
+        query.fields().include(fields);
+        return mongoTemplate.query(UserProfile.class).as(view).matching(query).all();
+    }
 }
@@ -0,0 +1,25 @@
+package com.algoverse.platform.scheduler;
+
+import com.algoverse.platform.service.LeaderBoardIndexService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class LeaderBoardRebuildScheduler {
+
+    private final LeaderBoardIndexService leaderBoardIndexService;
+
+    /**
+     * Reconciles every batch ranking from Mongo, repairing any drift from
+     * missed incremental updates or users moving between batches.
+     */
+    @Scheduled(cron = "${algoverse.leaderboard.rebuild-cron:0 15 3 * * *}", zone = "Asia/Kolkata")
+    public void rebuildLeaderBoards() {
+        log.info("Starting leaderboard rebuild");
+        leaderBoardIndexService.rebuildAll();
+    }
+}
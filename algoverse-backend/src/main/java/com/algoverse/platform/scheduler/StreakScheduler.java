@@ -0,0 +1,71 @@
+package com.algoverse.platform.scheduler;
+
+import com.algoverse.platform.repository.UserActivityRepository;
+import com.algoverse.platform.service.RedisCacheService;
+import com.algoverse.platform.service.StreakService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class StreakScheduler {
+
+    private static final String BACKFILL_LEASE_KEY = "streak:backfill:lease";
+
+    private final StreakService streakService;
+    private final UserActivityRepository userActivityRepository;
+    private final RedisCacheService redisCacheService;
+
+    // Outlives any backfill, so replicas fired by the same trigger never run a second one
+    @Value("${algoverse.streak.backfill.lease-ttl:PT1H}")
+    private Duration backfillLeaseTtl;
+
+    /**
+     * Just after midnight: users who solved nothing yesterday lose their current streak.
+     */
+    @Scheduled(cron = "${algoverse.streak.expire-cron:0 5 0 * * *}", zone = "Asia/Kolkata")
+    public void expireStreaks() {
+        int expired = streakService.expireStreaks();
+        log.info("Ended {} streaks", expired);
+    }
+
+    /**
+     * Weekly reconciliation of every activity bitset with solved_problems.
+     */
+    @Scheduled(cron = "${algoverse.streak.backfill-cron:0 45 3 * * SUN}", zone = "Asia/Kolkata")
+    public void backfill() {
+        backfillUnderLease();
+    }
+
+    /**
+     * First start with the streak engine: build the bitsets from existing data.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        try {
+            if (userActivityRepository.isEmpty()) {
+                log.info("No user activity yet, starting streak backfill");
+                backfillUnderLease();
+            }
+        } catch (Exception ex) {
+            log.error("Streak backfill failed: {}", ex.getMessage(), ex);
+        }
+    }
+
+    // One replica runs the backfill; the lease is kept until it expires
+    private void backfillUnderLease() {
+        if (redisCacheService.tryLock(BACKFILL_LEASE_KEY, backfillLeaseTtl) == null) {
+            log.info("Streak backfill already running or recently run on another node, skipping");
+            return;
+        }
+        streakService.backfill();
+    }
+}
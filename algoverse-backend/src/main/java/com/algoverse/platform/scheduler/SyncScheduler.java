@@ -1,18 +1,20 @@
 package com.algoverse.platform.scheduler;
 
-import com.algoverse.platform.entity.Problem;
-import com.algoverse.platform.entity.UserProfile;
-import com.algoverse.platform.repository.ProblemRepository;
+import com.algoverse.platform.catalog.ProblemCatalog;
+import com.algoverse.platform.config.SyncProperties;
+import com.algoverse.platform.dto.SyncUserView;
 import com.algoverse.platform.repository.UserRepository;
-import com.algoverse.platform.service.LeetCodeSyncService;
+import com.algoverse.platform.service.ProblemCatalogService;
+import com.algoverse.platform.sync.AdaptiveSyncPolicy;
+import com.algoverse.platform.sync.ShardedSyncRunner;
+import com.algoverse.platform.sync.SyncRunReport;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
+import java.time.Instant;
 import java.util.List;
-import java.util.Map;
 
 @Component
 @Slf4j
@@ -20,24 +22,31 @@ import java.util.Map;
 public class SyncScheduler {
 
     private final UserRepository userRepository;
-    private final ProblemRepository problemRepository;
-    private final LeetCodeSyncService leetCodeSyncService;
+    private final ProblemCatalogService problemCatalogService;
+    private final ShardedSyncRunner shardedSyncRunner;
+    private final AdaptiveSyncPolicy adaptiveSyncPolicy;
+    private final SyncProperties syncProperties;
 
-    @Scheduled(cron = "0 0/30 * * * *", zone = "Asia/Kolkata")
+    /**
+     * Fires on every replica; the sharded runner makes them split the users between them.
+     * With adaptive scheduling a run only takes the users that are due, up to the run budget.
+     */
+    @Scheduled(cron = "${algoverse.sync.cron:0 0/10 * * * *}", zone = "Asia/Kolkata")
     public void runSyncProcess() {
-        List<Problem> problemList = problemRepository.getAllProblems();
-        List<UserProfile> activeProfiles = userRepository.findActiveUserProfile();
-        Map<String, Problem> problemMap = buildProblemMap(problemList);
-        for (UserProfile userProfile : activeProfiles) {
-            leetCodeSyncService.syncUserProblems(userProfile, problemMap);
+        ProblemCatalog catalog = problemCatalogService.getCatalog();
+        List<SyncUserView> profiles;
+        if (syncProperties.getAdaptive().isEnabled()) {
+            List<SyncUserView> due = userRepository.findDueSyncUsers(Instant.now());
+            profiles = adaptiveSyncPolicy.select(due);
+            if (profiles.size() < due.size()) {
+                log.info("Sync budget reached: deferring {} of {} due users", due.size() - profiles.size(), due.size());
+            }
+        } else {
+            profiles = userRepository.findActiveSyncUsers();
         }
-    }
-
-    private Map<String, Problem> buildProblemMap(List<Problem> problems) {
-        Map<String, Problem> problemMap = new HashMap<>();
-        for (Problem problem : problems) {
-            problemMap.put(problem.getTitle(), problem);
-        }
-        return problemMap;
+        SyncRunReport report = shardedSyncRunner.run(profiles, catalog);
+        log.info("Sync run finished on this node in {} ms: submitted={}, synced={}, unchanged={}, skipped={}, failed={}, incomplete={}",
+                report.duration().toMillis(), report.submitted(), report.synced(), report.unchanged(),
+                report.skipped(), report.failed(), report.incomplete());
     }
 }
@@ -0,0 +1,64 @@
+package com.algoverse.platform.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.BitSet;
+
+/**
+ * Day-bucket arithmetic for solve activity bitsets. Days are calendar days
+ * in the platform time zone, indexed from {@link #ORIGIN}.
+ */
+final class ActivityDays {
+
+    static final ZoneId ZONE = ZoneId.of("Asia/Kolkata");
+    static final LocalDate ORIGIN = LocalDate.of(2015, 1, 1);
+
+    private static final long ORIGIN_EPOCH_DAY = ORIGIN.toEpochDay();
+
+    private ActivityDays() {
+    }
+
+    /**
+     * Day index of the instant, or -1 if it predates the origin.
+     */
+    static int dayOf(Instant instant) {
+        long index = LocalDate.ofInstant(instant, ZONE).toEpochDay() - ORIGIN_EPOCH_DAY;
+        return index < 0 || index > Integer.MAX_VALUE ? -1 : (int) index;
+    }
+
+    static int today() {
+        return dayOf(Instant.now());
+    }
+
+    /**
+     * Length of the run of consecutive active days containing {@code day}, which must be set.
+     */
+    static int runThrough(BitSet days, int day) {
+        return days.nextClearBit(day) - days.previousClearBit(day) - 1;
+    }
+
+    /**
+     * Consecutive active days ending today, or yesterday if today has no solve yet.
+     */
+    static int currentStreak(BitSet days, int today) {
+        int last = days.previousSetBit(today);
+        if (last < 0 || last < today - 1) {
+            return 0;
+        }
+        return last - days.previousClearBit(last);
+    }
+
+    /**
+     * Longest run of consecutive active days; a full scan, used when rebuilding.
+     */
+    static int maxStreak(BitSet days) {
+        int max = 0;
+        for (int start = days.nextSetBit(0); start >= 0; ) {
+            int end = days.nextClearBit(start);
+            max = Math.max(max, end - start);
+            start = days.nextSetBit(end);
+        }
+        return max;
+    }
+}
@@ -0,0 +1,111 @@
+package com.algoverse.platform.service;
+
+import com.algoverse.platform.dto.ActivityHeatmap;
+import com.algoverse.platform.entity.ActivityMonth;
+import com.algoverse.platform.entity.SolvedProblem;
+import com.algoverse.platform.entity.UserProfile;
+import com.algoverse.platform.exception.BatchNotFoundException;
+import com.algoverse.platform.exception.UserNotFoundException;
+import com.algoverse.platform.repository.ActivityMonthRepository;
+import com.algoverse.platform.repository.ActivityMonthRepository.MonthIncrement;
+import com.algoverse.platform.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Contribution-style heatmaps for users and batches, served from monthly
+ * buckets ({@link ActivityMonth}) that the sync pipeline increments.
+ */
+@Service
+@RequiredArgsConstructor
+public class ActivityService {
+
+    public static final int MAX_MONTHS = 12;
+
+    private final ActivityMonthRepository activityMonthRepository;
+    private final UserRepository userRepository;
+
+    /**
+     * Counts each solve on its day in the user's bucket and, if known, their batch's bucket.
+     * The increments are not idempotent: pass only rows the upsert newly inserted or re-solved.
+     */
+    public void recordSolves(Collection<SolvedProblem> solves, Map<String, String> batchByUser) {
+        Map<String, MonthIncrement> increments = new HashMap<>();
+        for (SolvedProblem solve : solves) {
+            if (solve.getSolvedAt() == null) {
+                continue;
+            }
+            LocalDate day = LocalDate.ofInstant(solve.getSolvedAt(), ActivityDays.ZONE);
+            add(increments, ActivityMonth.SCOPE_USER, solve.getUserId(), day);
+            String batchId = batchByUser.get(solve.getUserId());
+            if (batchId != null) {
+                add(increments, ActivityMonth.SCOPE_BATCH, batchId, day);
+            }
+        }
+        activityMonthRepository.bulkIncrement(increments.values());
+    }
+
+    public ActivityHeatmap getUserHeatmap(String authId, int months) {
+        UserProfile profile = resolveProfile(authId);
+        return heatmap(ActivityMonth.SCOPE_USER, profile.getId(), months);
+    }
+
+    public ActivityHeatmap getBatchHeatmap(String authId, int months) {
+        UserProfile profile = resolveProfile(authId);
+        if (profile.getBatchId() == null) {
+            throw new BatchNotFoundException("Batch not found");
+        }
+        return heatmap(ActivityMonth.SCOPE_BATCH, profile.getBatchId(), months);
+    }
+
+    private ActivityHeatmap heatmap(String scope, String ownerId, int months) {
+        int clamped = Math.min(Math.max(months, 1), MAX_MONTHS);
+        YearMonth to = YearMonth.now(ActivityDays.ZONE);
+        YearMonth from = to.minusMonths(clamped - 1);
+
+        SortedMap<LocalDate, Integer> days = new TreeMap<>();
+        int total = 0;
+        for (ActivityMonth bucket : activityMonthRepository.findRange(scope, ownerId, from.toString(), to.toString())) {
+            YearMonth month = YearMonth.parse(bucket.getMonth());
+            for (Map.Entry<String, Integer> day : bucket.getDays().entrySet()) {
+                if (day.getValue() != null && day.getValue() > 0) {
+                    days.put(month.atDay(Integer.parseInt(day.getKey())), day.getValue());
+                }
+            }
+            total += bucket.getTotal();
+        }
+        return ActivityHeatmap.builder()
+                .scope(scope)
+                .ownerId(ownerId)
+                .from(from.atDay(1))
+                .to(to.atEndOfMonth())
+                .total(total)
+                .days(days)
+                .build();
+    }
+
+    private static void add(Map<String, MonthIncrement> increments, String scope, String ownerId, LocalDate day) {
+        String month = YearMonth.from(day).toString();
+        increments.computeIfAbsent(ActivityMonth.idOf(scope, ownerId, month),
+                        id -> new MonthIncrement(scope, ownerId, month, new HashMap<>()))
+                .days().merge(day.getDayOfMonth(), 1, Integer::sum);
+    }
+
+    private UserProfile resolveProfile(String authId) {
+        UserProfile profile = userRepository.findByAuthId(authId);
+        if (profile == null) {
+            throw new UserNotFoundException("User not found");
+        }
+        return profile;
+    }
+}
@@ -0,0 +1,147 @@
+package com.algoverse.platform.service;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.algoverse.platform.dto.AnalysisRequest;
+import com.algoverse.platform.dto.AnalysisResponse;
+import com.algoverse.platform.http.UpstreamHttpClients;
+import com.algoverse.platform.http.UpstreamMetrics;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Non-blocking client for the AI service.
+ * <p>
+ * The response body is consumed line by line as it arrives, so a streaming
+ * upstream is forwarded chunk by chunk and no thread waits on the socket.
+ * Three deadlines apply: connect, time to response headers, and an overall
+ * deadline for the whole exchange.
+ * <p>
+ * Uses the JDK client rather than the pooled {@link UpstreamHttpClients} because
+ * the body is consumed asynchronously; the JDK client keeps its own keep-alive
+ * pool. Calls are recorded under the "ai" upstream like the pooled ones.
+ */
+@Service
+@Slf4j
+public class AiAnalysisClient {
+
+    private final ObjectMapper objectMapper;
+    private final UpstreamMetrics upstreamMetrics;
+    private final HttpClient httpClient;
+    private final String aiServiceUrl;
+    private final Duration readTimeout;
+    private final Duration overallTimeout;
+
+    public AiAnalysisClient(ObjectMapper objectMapper, UpstreamMetrics upstreamMetrics,
+            @Value("${algoverse.ai.url:http://localhost:8000}") String aiServiceUrl,
+            @Value("${algoverse.ai.connect-timeout:PT2S}") Duration connectTimeout,
+            @Value("${algoverse.ai.read-timeout:PT60S}") Duration readTimeout,
+            @Value("${algoverse.ai.overall-timeout:PT90S}") Duration overallTimeout) {
+        this.objectMapper = objectMapper;
+        this.upstreamMetrics = upstreamMetrics;
+        this.aiServiceUrl = aiServiceUrl;
+        this.readTimeout = readTimeout;
+        this.overallTimeout = overallTimeout;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    /**
+     * Posts the request and completes with the parsed report.
+     *
+     * @param onChunk called with every body line as it is received
+     */
+    public CompletableFuture<AnalysisResponse> analyze(AnalysisRequest request, Consumer<String> onChunk) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(request);
+        } catch (JsonProcessingException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+
+        HttpRequest httpRequest = HttpRequest.newBuilder(URI.create(aiServiceUrl + "/analyze/performance"))
+                .timeout(readTimeout)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json, application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+
+        StringBuilder received = new StringBuilder();
+        long startNanos = System.nanoTime();
+        return httpClient
+                .sendAsync(httpRequest, HttpResponse.BodyHandlers.fromLineSubscriber(new ChunkSubscriber(line -> {
+                    received.append(line).append('\n');
+                    onChunk.accept(line);
+                })))
+                .orTimeout(overallTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        upstreamMetrics.recordFailure(UpstreamHttpClients.AI, error, System.nanoTime() - startNanos);
+                    } else {
+                        upstreamMetrics.recordResponse(UpstreamHttpClients.AI, response.statusCode(),
+                                System.nanoTime() - startNanos);
+                    }
+                })
+                .thenApply(response -> {
+                    if (response.statusCode() / 100 != 2) {
+                        throw new IllegalStateException("AI service responded with status " + response.statusCode());
+                    }
+                    return parse(request.getUserId(), received.toString());
+                });
+    }
+
+    private AnalysisResponse parse(String userId, String body) {
+        try {
+            return objectMapper.readValue(body, AnalysisResponse.class);
+        } catch (JsonProcessingException ex) {
+            // Plain-text or streamed report: the body itself is the report
+            AnalysisResponse response = new AnalysisResponse();
+            response.setUserId(userId);
+            response.setAnalysisReport(body.strip());
+            return response;
+        }
+    }
+
+    private static final class ChunkSubscriber implements Flow.Subscriber<String> {
+
+        private final Consumer<String> onLine;
+
+        private ChunkSubscriber(Consumer<String> onLine) {
+            this.onLine = onLine;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            onLine.accept(line);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            log.debug("AI response stream failed: {}", throwable.getMessage());
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
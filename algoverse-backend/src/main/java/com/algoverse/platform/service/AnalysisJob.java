@@ -0,0 +1,118 @@
+package com.algoverse.platform.service;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.algoverse.platform.dto.AnalysisJobStatus;
+import com.algoverse.platform.dto.AnalysisJobStatus.State;
+
+/**
+ * In-memory state of one asynchronous analysis job and its SSE subscribers.
+ * All mutations are synchronized so subscribers see chunks in order.
+ */
+class AnalysisJob {
+
+    private final String id;
+    private final String userId;
+    private final Instant createdAt = Instant.now();
+    private final StringBuilder partialReport = new StringBuilder();
+    private final List<SseEmitter> emitters = new ArrayList<>();
+    private State state = State.QUEUED;
+    private String report;
+    private Instant completedAt;
+
+    AnalysisJob(String id, String userId) {
+        this.id = id;
+        this.userId = userId;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    String getUserId() {
+        return userId;
+    }
+
+    synchronized boolean isFinishedBefore(Instant cutoff) {
+        return completedAt != null && completedAt.isBefore(cutoff);
+    }
+
+    synchronized void running() {
+        state = State.RUNNING;
+        broadcast("status", state.name());
+    }
+
+    synchronized void appendChunk(String chunk) {
+        partialReport.append(chunk).append('\n');
+        broadcast("chunk", chunk);
+    }
+
+    synchronized void complete(String finalReport) {
+        finish(State.COMPLETED, finalReport);
+    }
+
+    synchronized void fail(String message) {
+        finish(State.FAILED, message);
+    }
+
+    synchronized void subscribe(SseEmitter emitter) {
+        try {
+            emitter.send(SseEmitter.event().name("status").data(state.name()));
+            if (partialReport.length() > 0) {
+                emitter.send(SseEmitter.event().name("chunk").data(partialReport.toString()));
+            }
+            if (completedAt != null) {
+                emitter.send(SseEmitter.event().name(state == State.COMPLETED ? "complete" : "error").data(report));
+                emitter.complete();
+                return;
+            }
+        } catch (IOException ex) {
+            emitter.completeWithError(ex);
+            return;
+        }
+        emitters.add(emitter);
+        emitter.onCompletion(() -> remove(emitter));
+        emitter.onTimeout(() -> remove(emitter));
+    }
+
+    synchronized AnalysisJobStatus status() {
+        return AnalysisJobStatus.builder()
+                .jobId(id)
+                .state(state)
+                .report(report != null ? report : partialReport.length() > 0 ? partialReport.toString() : null)
+                .createdAt(createdAt)
+                .completedAt(completedAt)
+                .build();
+    }
+
+    private void finish(State finalState, String finalReport) {
+        state = finalState;
+        report = finalReport;
+        completedAt = Instant.now();
+        broadcast(finalState == State.COMPLETED ? "complete" : "error", finalReport);
+        for (SseEmitter emitter : emitters) {
+            emitter.complete();
+        }
+        emitters.clear();
+    }
+
+    private void broadcast(String event, String data) {
+        emitters.removeIf(emitter -> {
+            try {
+                emitter.send(SseEmitter.event().name(event).data(data));
+                return false;
+            } catch (IOException | IllegalStateException ex) {
+                return true;
+            }
+        });
+    }
+
+    private synchronized void remove(SseEmitter emitter) {
+        emitters.remove(emitter);
+    }
+}
@@ -0,0 +1,122 @@
+package com.algoverse.platform.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.algoverse.platform.dto.AnalysisJobStatus;
+import com.algoverse.platform.dto.AnalysisRequest;
+import com.algoverse.platform.dto.AnalysisResponse;
+import com.algoverse.platform.exception.AnalysisJobNotFoundException;
+import com.algoverse.platform.exception.UserNotFoundException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs AI analyses as background jobs so no servlet thread waits on the LLM.
+ * Jobs live in memory on the node that accepted them and are dropped
+ * {@code algoverse.ai.job-ttl} after they finish.
+ */
+@Service
+@Slf4j
+public class AnalysisJobService {
+
+    private final AnalysisService analysisService;
+    private final AnalysisReportCache analysisReportCache;
+    private final AiAnalysisClient aiAnalysisClient;
+    private final Executor taskExecutor;
+    private final Duration jobTtl;
+    private final Map<String, AnalysisJob> jobs = new ConcurrentHashMap<>();
+
+    public AnalysisJobService(AnalysisService analysisService, AnalysisReportCache analysisReportCache,
+            AiAnalysisClient aiAnalysisClient, @Qualifier("taskExecutor") Executor taskExecutor,
+            @Value("${algoverse.ai.job-ttl:PT15M}") Duration jobTtl) {
+        this.analysisService = analysisService;
+        this.analysisReportCache = analysisReportCache;
+        this.aiAnalysisClient = aiAnalysisClient;
+        this.taskExecutor = taskExecutor;
+        this.jobTtl = jobTtl;
+    }
+
+    public AnalysisJobStatus submit(String userId) {
+        if (StringUtils.isEmpty(userId)) {
+            throw new UserNotFoundException("User not found with id: " + userId);
+        }
+        AnalysisJob job = new AnalysisJob(UUID.randomUUID().toString(), userId);
+        jobs.put(job.getId(), job);
+
+        CompletableFuture<AnalysisRequest> request;
+        try {
+            request = CompletableFuture.supplyAsync(() -> analysisService.buildAnalysisRequest(userId), taskExecutor);
+        } catch (RejectedExecutionException ex) {
+            // Failed rather than left queued, so it is purged like any finished job
+            log.warn("Analysis job {} rejected: {}", job.getId(), ex.getMessage());
+            job.fail(AnalysisService.ANALYSIS_ERROR_MESSAGE);
+            return job.status();
+        }
+        request.thenCompose(r -> run(job, r))
+                .whenComplete((report, ex) -> {
+                    if (ex != null) {
+                        log.error("Analysis job {} failed: {}", job.getId(), ex.getMessage());
+                        job.fail(AnalysisService.ANALYSIS_ERROR_MESSAGE);
+                    } else {
+                        job.complete(report);
+                    }
+                });
+        return job.status();
+    }
+
+    public AnalysisJobStatus getStatus(String jobId, String userId) {
+        return findJob(jobId, userId).status();
+    }
+
+    /**
+     * Server-Sent Events: "status", then "chunk" events as the report streams in,
+     * then a final "complete" or "error" event.
+     */
+    public SseEmitter stream(String jobId, String userId) {
+        AnalysisJob job = findJob(jobId, userId);
+        SseEmitter emitter = new SseEmitter(jobTtl.toMillis());
+        job.subscribe(emitter);
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${algoverse.ai.job-cleanup-interval:PT1M}")
+    public void purgeFinishedJobs() {
+        Instant cutoff = Instant.now().minus(jobTtl);
+        jobs.values().removeIf(job -> job.isFinishedBefore(cutoff));
+    }
+
+    private CompletableFuture<String> run(AnalysisJob job, AnalysisRequest request) {
+        if (request == null) {
+            return CompletableFuture.completedFuture(AnalysisService.NO_SOLVED_PROBLEMS_MESSAGE);
+        }
+        job.running();
+        // Only the job that starts the upstream call streams chunks; others get the final report
+        return analysisReportCache
+                .getOrComputeAsync(request, () -> aiAnalysisClient.analyze(request, job::appendChunk)
+                        .thenApplyAsync(Function.identity(), taskExecutor))
+                .thenApply(AnalysisResponse::getAnalysisReport);
+    }
+
+    private AnalysisJob findJob(String jobId, String userId) {
+        AnalysisJob job = jobs.get(jobId);
+        if (job == null || !job.getUserId().equals(userId)) {
+            throw new AnalysisJobNotFoundException("Analysis job not found: " + jobId);
+        }
+        return job;
+    }
+}
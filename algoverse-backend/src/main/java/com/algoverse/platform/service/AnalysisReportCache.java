@@ -0,0 +1,173 @@
+package com.algoverse.platform.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.algoverse.platform.cache.CacheCodec;
+import com.algoverse.platform.dto.AnalysisRequest;
+import com.algoverse.platform.dto.AnalysisResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Content-addressed cache for AI performance reports.
+ * <p>
+ * Reports are keyed by a SHA-256 of the canonical JSON of the
+ * {@link AnalysisRequest}, so a user whose stats did not change gets the
+ * stored report back. Concurrent identical requests share one upstream call.
+ */
+@Service
+@Slf4j
+public class AnalysisReportCache {
+
+    private static final String REPORT_KEY_PREFIX = "analysis:report:";
+
+    // Sorted properties and map keys make the serialized form stable across calls
+    private static final ObjectMapper CANONICAL_MAPPER = JsonMapper.builder()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .build();
+
+    private final RedisCacheService redisCacheService;
+    private final CacheCodec<AnalysisResponse> analysisResponseCodec;
+    private final Duration reportTtl;
+    private final Map<String, CompletableFuture<AnalysisResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public AnalysisReportCache(RedisCacheService redisCacheService, CacheCodec<AnalysisResponse> analysisResponseCodec,
+            @Value("${algoverse.ai.report-cache-ttl:PT24H}") Duration reportTtl) {
+        this.redisCacheService = redisCacheService;
+        this.analysisResponseCodec = analysisResponseCodec;
+        this.reportTtl = reportTtl;
+    }
+
+    /**
+     * Returns the cached report for this exact request, or computes it once.
+     * Only non-null results are cached; failures of the upstream call propagate
+     * to every waiter, while a failure to cache the result is only logged.
+     */
+    public AnalysisResponse getOrCompute(AnalysisRequest request, Supplier<AnalysisResponse> upstreamCall) {
+        String key = REPORT_KEY_PREFIX + fingerprint(request);
+
+        AnalysisResponse cached = analysisResponseCodec.decode(redisCacheService.getBytes(key));
+        if (cached != null) {
+            log.debug("Analysis report cache hit for {}", key);
+            return cached;
+        }
+
+        CompletableFuture<AnalysisResponse> mine = new CompletableFuture<>();
+        CompletableFuture<AnalysisResponse> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            log.debug("Joining in-flight analysis for {}", key);
+            return await(leader);
+        }
+
+        try {
+            AnalysisResponse response = upstreamCall.get();
+            if (response != null) {
+                store(key, response);
+            }
+            mine.complete(response);
+            return response;
+        } catch (RuntimeException ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Non-blocking {@link #getOrCompute}: joins the same in-flight calls, so a
+     * background job and a synchronous request for the same report share one
+     * upstream call whichever starts it.
+     */
+    public CompletableFuture<AnalysisResponse> getOrComputeAsync(AnalysisRequest request,
+            Supplier<CompletableFuture<AnalysisResponse>> upstreamCall) {
+        String key = REPORT_KEY_PREFIX + fingerprint(request);
+
+        AnalysisResponse cached = analysisResponseCodec.decode(redisCacheService.getBytes(key));
+        if (cached != null) {
+            log.debug("Analysis report cache hit for {}", key);
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CompletableFuture<AnalysisResponse> mine = new CompletableFuture<>();
+        CompletableFuture<AnalysisResponse> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            log.debug("Joining in-flight analysis for {}", key);
+            return leader;
+        }
+
+        CompletableFuture<AnalysisResponse> call;
+        try {
+            call = upstreamCall.get();
+        } catch (RuntimeException ex) {
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(ex);
+            return mine;
+        }
+        call.whenComplete((response, ex) -> {
+            try {
+                if (ex == null && response != null) {
+                    store(key, response);
+                }
+            } finally {
+                inFlight.remove(key, mine);
+            }
+            if (ex != null) {
+                mine.completeExceptionally(ex);
+            } else {
+                mine.complete(response);
+            }
+        });
+        return mine;
+    }
+
+    // The upstream call is paid for: a cache write failure must not lose its report
+    private void store(String key, AnalysisResponse response) {
+        try {
+            redisCacheService.setBytes(key, analysisResponseCodec.encode(response), reportTtl);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to cache analysis report {}: {}", key, ex.getMessage());
+        }
+    }
+
+    private String fingerprint(AnalysisRequest request) {
+        try {
+            byte[] canonical = CANONICAL_MAPPER.writeValueAsString(request).getBytes(StandardCharsets.UTF_8);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(canonical));
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Cannot fingerprint analysis request", ex);
+        }
+    }
+
+    private AnalysisResponse await(CompletableFuture<AnalysisResponse> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for analysis report", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+}
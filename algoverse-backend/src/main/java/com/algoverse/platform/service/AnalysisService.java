@@ -6,6 +6,7 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -13,13 +14,12 @@ import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import com.algoverse.platform.catalog.ProblemCatalog;
 import com.algoverse.platform.dto.AnalysisRequest;
 import com.algoverse.platform.dto.AnalysisResponse;
-import com.algoverse.platform.entity.Problem;
-import com.algoverse.platform.entity.SolvedProblem;
+import com.algoverse.platform.entity.RecentSolve;
+import com.algoverse.platform.entity.UserAnalytics;
 import com.algoverse.platform.exception.UserNotFoundException;
-import com.algoverse.platform.repository.ProblemRepository;
-import com.algoverse.platform.repository.SolvedProblemRepository;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,110 +29,91 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class AnalysisService {
 
-    private final SolvedProblemRepository solvedProblemRepository;
-    private final ProblemRepository problemRepository;
+    private final UserAnalyticsService userAnalyticsService;
+    private final ProblemCatalogService problemCatalogService;
+    @Qualifier("aiRestTemplate")
     private final RestTemplate restTemplate;
+    private final AnalysisReportCache analysisReportCache;
+
+    public static final String NO_SOLVED_PROBLEMS_MESSAGE =
+            "No solved problems found. Start solving problems to get an analysis!";
+    public static final String ANALYSIS_ERROR_MESSAGE = "Error generating analysis. Please try again later.";
 
     @Value("${algoverse.ai.url:http://localhost:8000}")
     private String aiServiceUrl;
 
     public String generatePerformanceAnalysis(String userId) {
-        if (StringUtils.isEmpty(userId)) {
-            throw new UserNotFoundException("User not found with id: " + userId);
+        AnalysisRequest request = buildAnalysisRequest(userId);
+        if (request == null) {
+            return NO_SOLVED_PROBLEMS_MESSAGE;
         }
-        // 1. Fetch user's solved problems
-        List<SolvedProblem> solvedProblems = solvedProblemRepository.getSolvedProblemsFromUser(userId);
 
-        if (solvedProblems.isEmpty()) {
-            return "No solved problems found. Start solving problems to get an analysis!";
+        String url = aiServiceUrl + "/analyze/performance";
+
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            HttpEntity<AnalysisRequest> entity = new HttpEntity<>(request, headers);
+
+            // Identical requests (unchanged stats) are served from the report cache
+            AnalysisResponse response = analysisReportCache.getOrCompute(request,
+                    () -> restTemplate.postForObject(url, entity, AnalysisResponse.class));
+            return response != null ? response.getAnalysisReport() : "Failed to generate report.";
+
+        } catch (Exception e) {
+            log.error("Error calling AI service: ", e);
+            return ANALYSIS_ERROR_MESSAGE;
         }
+    }
 
-        // 2. Fetch all problems to get metadata (difficulty, topics)
-        // Ideally we should cache this map or fetch only relevant problems, but
-        // getAllProblems is already cached.
-        List<Problem> allProblems = problemRepository.getAllProblems();
-        Map<String, Problem> problemMap = allProblems.stream()
-                .collect(Collectors.toMap(Problem::getId, p -> p));
-
-        // 3. Calculate Stats
-        int easy = 0;
-        int medium = 0;
-        int hard = 0;
-        Map<String, Integer> topicCounts = new HashMap<>(); // Topic -> Solved Count
-
-        for (SolvedProblem sp : solvedProblems) {
-            Problem p = problemMap.get(sp.getProblemId());
-            if (p != null) {
-                // Difficulty
-                if (p.getCategory() != null) {
-                    switch (p.getCategory()) {
-                        case EASY -> easy++;
-                        case MEDIUM -> medium++;
-                        case HARD -> hard++;
-                    }
-                }
-
-                // Topics
-                if (p.getTopics() != null) {
-                    for (String topic : p.getTopics()) {
-                        topicCounts.merge(topic, 1, Integer::sum);
-                    }
-                }
-            }
+    /**
+     * Builds the AI request from the user's analytics aggregate.
+     *
+     * @return the request, or null if the user has not solved anything yet
+     */
+    public AnalysisRequest buildAnalysisRequest(String userId) {
+        if (StringUtils.isEmpty(userId)) {
+            throw new UserNotFoundException("User not found with id: " + userId);
         }
+        // 1. Indexed catalog snapshot for topic totals
+        ProblemCatalog catalog = problemCatalogService.getCatalog();
+
+        // 2. Single keyed read of the incrementally maintained aggregate
+        UserAnalytics analytics = userAnalyticsService.getOrBuild(userId, catalog);
 
-        // Convert Topic Counts to percentages or raw values for AI
-        // Let's send raw counts and let AI interpret, or normalize.
-        // Normalizing vs total problems in that topic is better context.
-        Map<String, Integer> totalTopicCounts = new HashMap<>();
-        for (Problem p : allProblems) {
-            if (p.getTopics() != null) {
-                for (String topic : p.getTopics()) {
-                    totalTopicCounts.merge(topic, 1, Integer::sum);
-                }
-            }
+        if (analytics.getTotalSolved() == 0) {
+            return null;
         }
+        return toAnalysisRequest(userId, analytics, catalog);
+    }
 
+    // Package-private for the JMH benchmarks
+    AnalysisRequest toAnalysisRequest(String userId, UserAnalytics analytics, ProblemCatalog catalog) {
+        // 3. Normalize topic counts vs total problems in that topic, which is better
+        // context for the AI. Topic totals are precomputed once per catalog version.
         Map<String, Double> topicStats = new HashMap<>();
-        for (Map.Entry<String, Integer> entry : topicCounts.entrySet()) {
-            String topic = entry.getKey();
+        for (Map.Entry<String, Integer> entry : analytics.getTopicSolved().entrySet()) {
+            String topic = UserAnalytics.decodeTopic(entry.getKey());
             int solved = entry.getValue();
-            int total = totalTopicCounts.getOrDefault(topic, 1); // avoid /0
+            int total = Math.max(catalog.topicTotal(topic), 1); // avoid /0
             topicStats.put(topic, (double) solved / total);
         }
 
-        // Recent problems (last 5)
-        List<String> recentProblems = solvedProblems.stream()
-                .filter(sp -> sp.getSolvedAt() != null)
-                .sorted((a, b) -> b.getSolvedAt().compareTo(a.getSolvedAt()))
-                .limit(5)
-                .map(SolvedProblem::getProblemName)
+        // Recent problems (last 5), the ring is kept newest first
+        List<String> recentProblems = analytics.getRecentSolves().stream()
+                .map(RecentSolve::getProblemName)
+                .distinct()
+                .limit(UserAnalytics.RECENT_SOLVES_LIMIT)
                 .collect(Collectors.toList());
 
-        // 4. Call AI Service
-        AnalysisRequest request = AnalysisRequest.builder()
+        return AnalysisRequest.builder()
                 .userId(userId)
-                .totalSolved(solvedProblems.size())
-                .easySolved(easy)
-                .mediumSolved(medium)
-                .hardSolved(hard)
+                .totalSolved(analytics.getTotalSolved())
+                .easySolved(analytics.getEasySolved())
+                .mediumSolved(analytics.getMediumSolved())
+                .hardSolved(analytics.getHardSolved())
                 .topicStats(topicStats)
                 .recentProblems(recentProblems)
                 .build();
-
-        String url = aiServiceUrl + "/analyze/performance";
-
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<AnalysisRequest> entity = new HttpEntity<>(request, headers);
-
-            AnalysisResponse response = restTemplate.postForObject(url, entity, AnalysisResponse.class);
-            return response != null ? response.getAnalysisReport() : "Failed to generate report.";
-
-        } catch (Exception e) {
-            log.error("Error calling AI service: ", e);
-            return "Error generating analysis. Please try again later.";
-        }
     }
 }
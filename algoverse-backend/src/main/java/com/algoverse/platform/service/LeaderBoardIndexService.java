@@ -0,0 +1,284 @@
+package com.algoverse.platform.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.stereotype.Service;
+
+import com.algoverse.platform.dto.LeaderBoardMember;
+import com.algoverse.platform.dto.LeaderBoardPage;
+import com.algoverse.platform.dto.LeaderBoardResponse;
+import com.algoverse.platform.dto.LeaderBoardUserView;
+import com.algoverse.platform.entity.Stats;
+import com.algoverse.platform.entity.UserProfile;
+import com.algoverse.platform.exception.InvalidCursorException;
+import com.algoverse.platform.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-batch leaderboard kept in a Redis sorted set.
+ * The member is the user id and the score is {@link LeaderBoardScore#encode},
+ * so ranks and ranges are O(log n) reads. The score only orders: its counts
+ * saturate, so display names and exact stats live in a companion hash.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class LeaderBoardIndexService {
+
+    private static final String RANKING_KEY = "leaderboard:%s";
+    private static final String MEMBERS_KEY = "leaderboard:%s:members";
+    private static final String REBUILD_KEY = "%s:rebuild:%s";
+    private static final String REBUILD_LOCK_KEY = "leaderboard:%s:rebuild-lock";
+    private static final String EMPTY_KEY = "leaderboard:%s:empty";
+    private static final Duration REBUILD_LOCK_TTL = Duration.ofSeconds(30);
+    // How long a batch found empty is not rebuilt again on read
+    private static final Duration EMPTY_TTL = Duration.ofMinutes(1);
+
+    private final RedisCacheService redisCacheService;
+    private final UserRepository userRepository;
+
+    /**
+     * Writes the user's current stats into their batch ranking.
+     */
+    public void updateUser(UserProfile profile) {
+        if (profile != null) {
+            updateUser(LeaderBoardUserView.of(profile));
+        }
+    }
+
+    public void updateUser(LeaderBoardUserView user) {
+        if (user == null || user.getBatchId() == null) {
+            return;
+        }
+        String batchId = user.getBatchId();
+        redisCacheService.zAdd(rankingKey(batchId), user.getId(), LeaderBoardScore.encode(user.getStats()));
+        redisCacheService.hPut(membersKey(batchId), user.getId(), toMember(user));
+    }
+
+    /**
+     * Reconciles the batch ranking from Mongo, swapping the rebuilt keys in atomically.
+     * One rebuild per batch at a time across nodes; a call finding one in progress returns.
+     */
+    public void rebuild(String batchId) {
+        String lockKey = String.format(REBUILD_LOCK_KEY, batchId);
+        String lockToken = redisCacheService.tryLock(lockKey, REBUILD_LOCK_TTL);
+        if (lockToken == null) {
+            log.debug("Leaderboard rebuild for batch {} already in progress", batchId);
+            return;
+        }
+        try {
+            rebuildLocked(batchId);
+        } finally {
+            redisCacheService.unlock(lockKey, lockToken);
+        }
+    }
+
+    private void rebuildLocked(String batchId) {
+        List<LeaderBoardUserView> profiles = userRepository.findLeaderBoardViews(batchId);
+
+        Set<TypedTuple<Object>> tuples = new HashSet<>();
+        Map<String, LeaderBoardMember> members = new HashMap<>();
+        for (LeaderBoardUserView profile : profiles) {
+            tuples.add(new DefaultTypedTuple<>(profile.getId(), LeaderBoardScore.encode(profile.getStats())));
+            members.put(profile.getId(), toMember(profile));
+        }
+
+        String rankingKey = rankingKey(batchId);
+        String membersKey = membersKey(batchId);
+        if (tuples.isEmpty()) {
+            redisCacheService.delete(rankingKey);
+            redisCacheService.delete(membersKey);
+            redisCacheService.set(emptyKey(batchId), Boolean.TRUE, EMPTY_TTL);
+            return;
+        }
+
+        // Temp keys unique to this rebuild, so one left behind by a failed rebuild is never renamed
+        String rebuildId = UUID.randomUUID().toString();
+        String rankingTempKey = String.format(REBUILD_KEY, rankingKey, rebuildId);
+        String membersTempKey = String.format(REBUILD_KEY, membersKey, rebuildId);
+        redisCacheService.zAddAll(rankingTempKey, tuples);
+        redisCacheService.hPutAll(membersTempKey, members);
+        redisCacheService.rename(rankingTempKey, rankingKey);
+        redisCacheService.rename(membersTempKey, membersKey);
+        redisCacheService.delete(emptyKey(batchId));
+        log.info("Rebuilt leaderboard for batch {} with {} users", batchId, tuples.size());
+    }
+
+    public void rebuildAll() {
+        for (String batchId : userRepository.findDistinctBatchIds()) {
+            try {
+                rebuild(batchId);
+            } catch (Exception ex) {
+                log.error("Failed to rebuild leaderboard for batch {}: {}", batchId, ex.getMessage(), ex);
+            }
+        }
+    }
+
+    /**
+     * Entries between two 0-based ranks (inclusive), building the index on first use.
+     */
+    public List<LeaderBoardResponse> getRange(String batchId, long start, long end) {
+        ensureIndexed(batchId);
+        List<TypedTuple<Object>> tuples = redisCacheService.zRevRangeWithScores(rankingKey(batchId), start, end);
+        return toResponses(batchId, tuples, (int) start + 1);
+    }
+
+    /**
+     * Page of {@code limit} entries starting at a 0-based rank, with a cursor
+     * pointing after the last returned entry.
+     */
+    public LeaderBoardPage getPage(String batchId, long start, int limit) {
+        ensureIndexed(batchId);
+        List<TypedTuple<Object>> tuples = redisCacheService.zRevRangeWithScores(rankingKey(batchId),
+                start, start + limit - 1);
+        return page(batchId, start, tuples);
+    }
+
+    private LeaderBoardPage page(String batchId, long start, List<TypedTuple<Object>> tuples) {
+        long total = redisCacheService.zCard(rankingKey(batchId));
+
+        String nextCursor = null;
+        if (!tuples.isEmpty() && start + tuples.size() < total) {
+            TypedTuple<Object> last = tuples.get(tuples.size() - 1);
+            nextCursor = encodeCursor(String.valueOf(last.getValue()), last.getScore());
+        }
+        return LeaderBoardPage.builder()
+                .entries(toResponses(batchId, tuples, (int) start + 1))
+                .totalUsers(total)
+                .offset(start)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * 0-based rank of the user in the batch, null if not ranked.
+     */
+    public Long rankOf(String batchId, String userId) {
+        ensureIndexed(batchId);
+        return redisCacheService.zRevRank(rankingKey(batchId), userId);
+    }
+
+    /**
+     * Page of {@code limit} entries after the (score, member) bound a cursor
+     * carries, read by score rather than by rank. Ranking order is score
+     * descending, then member descending, so the page is the bound's ties with
+     * a smaller member followed by the entries scored below it. Users moving
+     * around the bound, or the bound's own user moving or leaving, neither
+     * repeat nor skip anyone who kept their place.
+     */
+    public LeaderBoardPage getPageAfter(String batchId, String cursor, int limit) {
+        ensureIndexed(batchId);
+        String rankingKey = rankingKey(batchId);
+        Cursor bound = decodeCursor(cursor);
+
+        // Members compare the way Redis orders ties: ids are plain ASCII
+        long start = redisCacheService.zCountAbove(rankingKey, bound.score());
+        List<TypedTuple<Object>> tuples = new ArrayList<>(limit);
+        for (Object member : redisCacheService.zRevRangeByScore(rankingKey, bound.score())) {
+            if (String.valueOf(member).compareTo(bound.userId()) >= 0) {
+                start++;
+            } else if (tuples.size() < limit) {
+                tuples.add(new DefaultTypedTuple<>(member, (double) bound.score()));
+            }
+        }
+        if (tuples.size() < limit) {
+            tuples.addAll(redisCacheService.zRevRangeBelowWithScores(rankingKey, bound.score(),
+                    limit - tuples.size()));
+        }
+        return page(batchId, start, tuples);
+    }
+
+    public long size(String batchId) {
+        ensureIndexed(batchId);
+        return redisCacheService.zCard(rankingKey(batchId));
+    }
+
+    private void ensureIndexed(String batchId) {
+        if (redisCacheService.zCard(rankingKey(batchId)) == 0 && !redisCacheService.exists(emptyKey(batchId))) {
+            rebuild(batchId);
+        }
+    }
+
+    private List<LeaderBoardResponse> toResponses(String batchId, List<TypedTuple<Object>> tuples, int firstRank) {
+        List<String> userIds = new ArrayList<>(tuples.size());
+        for (TypedTuple<Object> tuple : tuples) {
+            userIds.add(String.valueOf(tuple.getValue()));
+        }
+        List<Object> members = redisCacheService.hMultiGet(membersKey(batchId), userIds);
+
+        List<LeaderBoardResponse> response = new ArrayList<>(tuples.size());
+        int rank = firstRank;
+        for (int i = 0; i < tuples.size(); i++) {
+            double encoded = tuples.get(i).getScore() != null ? tuples.get(i).getScore() : 0d;
+            LeaderBoardMember member = i < members.size() && members.get(i) instanceof LeaderBoardMember m
+                    ? m
+                    : new LeaderBoardMember();
+            // Members written before the hash carried stats fall back to the decoded, possibly saturated, counts
+            Stats stats = member.getStats() != null ? member.getStats() : LeaderBoardScore.decodeStats(encoded);
+            response.add(new LeaderBoardResponse(
+                rank++,
+                member.getStats() != null ? LeaderBoardScore.score(stats) : LeaderBoardScore.decodeScore(encoded),
+                member.getDisplayName(),
+                member.getLeetCodeUserName(),
+                stats
+            ));
+        }
+        return response;
+    }
+
+    private Cursor decodeCursor(String cursor) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Invalid leaderboard cursor");
+        }
+        int separator = decoded.indexOf(':');
+        if (separator <= 0) {
+            throw new InvalidCursorException("Invalid leaderboard cursor");
+        }
+        try {
+            return new Cursor(Long.parseLong(decoded.substring(0, separator)), decoded.substring(separator + 1));
+        } catch (NumberFormatException ex) {
+            throw new InvalidCursorException("Invalid leaderboard cursor");
+        }
+    }
+
+    private String encodeCursor(String userId, Double score) {
+        long encodedScore = score != null ? score.longValue() : 0L;
+        String raw = encodedScore + ":" + userId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private LeaderBoardMember toMember(LeaderBoardUserView user) {
+        return new LeaderBoardMember(user.getDisplayName(), user.getLeetCodeUserName(), user.getStats());
+    }
+
+    private String rankingKey(String batchId) {
+        return String.format(RANKING_KEY, batchId);
+    }
+
+    private String membersKey(String batchId) {
+        return String.format(MEMBERS_KEY, batchId);
+    }
+
+    private String emptyKey(String batchId) {
+        return String.format(EMPTY_KEY, batchId);
+    }
+
+    private record Cursor(long score, String userId) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.algoverse.platform.service;
+
+import com.algoverse.platform.entity.Category;
+import com.algoverse.platform.entity.Stats;
+
+/**
+ * Packs the leaderboard ordering (total score, then hard, then medium, then
+ * total solved) into a single sorted-set score. All fields fit in the 53-bit
+ * mantissa of a double, so the encoding is exact and decodable.
+ */
+public final class LeaderBoardScore {
+
+    private static final int COUNT_BITS = 12;
+    private static final int SCORE_BITS = 17;
+    private static final long COUNT_MAX = (1L << COUNT_BITS) - 1;
+    private static final long SCORE_MAX = (1L << SCORE_BITS) - 1;
+
+    private static final int TOTAL_SHIFT = 0;
+    private static final int MEDIUM_SHIFT = COUNT_BITS;
+    private static final int HARD_SHIFT = 2 * COUNT_BITS;
+    private static final int SCORE_SHIFT = 3 * COUNT_BITS;
+
+    private LeaderBoardScore() {
+    }
+
+    public static int score(Stats stats) {
+        if (stats == null) {
+            return 0;
+        }
+        return valueOf(stats.getEasySolved()) * Category.EASY.getScore()
+                + valueOf(stats.getMediumSolved()) * Category.MEDIUM.getScore()
+                + valueOf(stats.getHardSolved()) * Category.HARD.getScore();
+    }
+
+    public static double encode(Stats stats) {
+        if (stats == null) {
+            return 0d;
+        }
+        long composite = (clamp(score(stats), SCORE_MAX) << SCORE_SHIFT)
+                | (clamp(valueOf(stats.getHardSolved()), COUNT_MAX) << HARD_SHIFT)
+                | (clamp(valueOf(stats.getMediumSolved()), COUNT_MAX) << MEDIUM_SHIFT)
+                | (clamp(valueOf(stats.getTotalSolved()), COUNT_MAX) << TOTAL_SHIFT);
+        return (double) composite;
+    }
+
+    public static int decodeScore(double encoded) {
+        return (int) (((long) encoded >>> SCORE_SHIFT) & SCORE_MAX);
+    }
+
+    public static Stats decodeStats(double encoded) {
+        long composite = (long) encoded;
+        int hard = (int) ((composite >>> HARD_SHIFT) & COUNT_MAX);
+        int medium = (int) ((composite >>> MEDIUM_SHIFT) & COUNT_MAX);
+        int total = (int) ((composite >>> TOTAL_SHIFT) & COUNT_MAX);
+        return new Stats(total, Math.max(total - medium - hard, 0), medium, hard);
+    }
+
+    private static int valueOf(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    private static long clamp(int value, long max) {
+        return Math.min(Math.max(value, 0), max);
+    }
+}
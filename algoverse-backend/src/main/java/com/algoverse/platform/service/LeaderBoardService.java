@@ -1,15 +1,12 @@
 package com.algoverse.platform.service;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Service;
 
+import com.algoverse.platform.dto.LeaderBoardPage;
 import com.algoverse.platform.dto.LeaderBoardResponse;
-import com.algoverse.platform.entity.Category;
-import com.algoverse.platform.entity.Stats;
 import com.algoverse.platform.entity.UserProfile;
 import com.algoverse.platform.exception.BatchNotFoundException;
 import com.algoverse.platform.exception.UserNotFoundException;
@@ -22,10 +19,54 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 @RequiredArgsConstructor
 public class LeaderBoardService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_WINDOW = 50;
     
     private final UserRepository userRepository;
+    private final LeaderBoardIndexService leaderBoardIndexService;
     
     public List<LeaderBoardResponse> getLeaderBoard(String authId) {
+        UserProfile currentProfile = resolveProfile(authId);
+        // Ranked by the batch sorted set, no per-request sort
+        return leaderBoardIndexService.getRange(currentProfile.getBatchId(), 0, -1);
+    }
+
+    /**
+     * Offset/limit page, or the page after {@code cursor} when one is given.
+     */
+    public LeaderBoardPage getLeaderBoardPage(String authId, long offset, int limit, String cursor) {
+        UserProfile currentProfile = resolveProfile(authId);
+        String batchId = currentProfile.getBatchId();
+        if (StringUtils.isNotEmpty(cursor)) {
+            return leaderBoardIndexService.getPageAfter(batchId, cursor, clampLimit(limit));
+        }
+        return leaderBoardIndexService.getPage(batchId, Math.max(offset, 0), clampLimit(limit));
+    }
+
+    public LeaderBoardPage getTop(String authId, int k) {
+        UserProfile currentProfile = resolveProfile(authId);
+        return leaderBoardIndexService.getPage(currentProfile.getBatchId(), 0, clampLimit(k));
+    }
+
+    /**
+     * The current user's rank with up to {@code window} users above and below.
+     */
+    public LeaderBoardPage getAroundMe(String authId, int window) {
+        UserProfile currentProfile = resolveProfile(authId);
+        String batchId = currentProfile.getBatchId();
+        Long rank = leaderBoardIndexService.rankOf(batchId, currentProfile.getId());
+        if (rank == null) {
+            // Not ranked yet (e.g. joined after the last rebuild) - add and retry once
+            leaderBoardIndexService.updateUser(currentProfile);
+            rank = leaderBoardIndexService.rankOf(batchId, currentProfile.getId());
+        }
+        int clampedWindow = Math.min(Math.max(window, 0), MAX_WINDOW);
+        long start = Math.max((rank != null ? rank : 0) - clampedWindow, 0);
+        return leaderBoardIndexService.getPage(batchId, start, 2 * clampedWindow + 1);
+    }
+
+    private UserProfile resolveProfile(String authId) {
         UserProfile currentProfile = userRepository.findByAuthId(authId);
         if (currentProfile == null) {
             throw new UserNotFoundException("User not found");
@@ -33,56 +74,10 @@ public class LeaderBoardService {
         if (currentProfile.getBatchId() == null) {
             throw new BatchNotFoundException("Batch not found");
         }
-        List<UserProfile> userProfiles = userRepository.findByBatchId(currentProfile.getBatchId());
-        return aggregateStats(userProfiles);
+        return currentProfile;
     }
 
-    private List<LeaderBoardResponse> aggregateStats(List<UserProfile> userProfiles) {
-        Collections.sort(userProfiles, new Comparator<>(){
-              public int compare(UserProfile user1, UserProfile user2) {
-                  Stats stats1 = user1.getStats();
-                  Stats stats2 = user2.getStats();
-                  int score1 = calculateScore(stats1);
-                  int score2 = calculateScore(stats2);
-                  if (score1 != score2) {
-                      return Integer.compare(score2, score1); 
-                  }
-                  if (!stats1.getHardSolved().equals(stats2.getHardSolved())) {
-                      return Integer.compare(
-                        stats2.getHardSolved(),
-                        stats1.getHardSolved()
-                      );
-                  }
-                  if (!stats1.getMediumSolved().equals(stats2.getMediumSolved())) {
-                      return Integer.compare(
-                        stats2.getMediumSolved(),
-                        stats1.getMediumSolved()
-                      );
-                  }
-                  return Integer.compare(
-                    stats2.getTotalSolved(),
-                    stats1.getTotalSolved()
-                  );
-              }
-        });
-        List<LeaderBoardResponse> response = new ArrayList<>();
-        int rank = 1;
-
-        for (UserProfile profile : userProfiles) {
-            response.add(new LeaderBoardResponse(
-                rank++,
-                calculateScore(profile.getStats()),
-                profile.getDisplayName(),
-                profile.getLeetCodeUserName(),
-                profile.getStats()
-            ));
-        }
-        return response;
+    private int clampLimit(int limit) {
+        return Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
     }
-
-    private int calculateScore(Stats stats) {
-        return stats.getEasySolved() * Category.EASY.getScore()
-             + stats.getMediumSolved() * Category.MEDIUM.getScore()
-             + stats.getHardSolved() * Category.HARD.getScore();
-    } 
 }
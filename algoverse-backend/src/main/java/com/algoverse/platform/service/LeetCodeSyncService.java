@@ -1,25 +1,35 @@
 package com.algoverse.platform.service;
 
+import com.algoverse.platform.catalog.ProblemCatalog;
 import com.algoverse.platform.dto.LeetCodeSubmission;
 import com.algoverse.platform.dto.LeetCodeSubmissionResponse;
+import com.algoverse.platform.dto.SyncUserView;
+import com.algoverse.platform.dto.UserSyncUpdate;
 import com.algoverse.platform.entity.Problem;
+import com.algoverse.platform.entity.RecentSolve;
 import com.algoverse.platform.entity.SolvedProblem;
-import com.algoverse.platform.entity.UserProfile;
 import com.algoverse.platform.repository.SolvedProblemRepository;
-import com.algoverse.platform.repository.UserRepository;
+import com.algoverse.platform.sync.SubmissionFingerprints;
+import com.algoverse.platform.sync.SubmissionTally;
+import com.algoverse.platform.sync.SyncMetrics;
+import com.algoverse.platform.sync.SyncOutcome;
+import com.algoverse.platform.sync.SyncWriteCoalescer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 @Service
 @Slf4j
@@ -28,17 +38,22 @@ public class LeetCodeSyncService {
 
     private static final String API_URL = "https://alfa-leetcode-api.onrender.com/%s/acSubmission";
 
+    @Qualifier("leetCodeRestTemplate")
     private final RestTemplate restTemplate;
     private final SolvedProblemRepository solvedProblemRepository;
-    private final UserRepository userRepository;
-
-    @Async("taskExecutor")
-    public void syncUserProblems(UserProfile userProfile, Map<String, Problem> problemMap) {
+    private final SyncWriteCoalescer syncWriteCoalescer;
+    private final SyncMetrics syncMetrics;
+    private final SubmissionFingerprints submissionFingerprints;
+
+    /**
+     * Syncs one user's accepted submissions. Blocking; concurrency is managed by the SyncEngine.
+     */
+    public SyncOutcome syncUserProblems(SyncUserView user, ProblemCatalog catalog) {
         try {
-            String leetCodeUsername = userProfile.getLeetCodeUserName();
+            String leetCodeUsername = user.getLeetCodeUserName();
             if (StringUtils.isEmpty(leetCodeUsername)) {
-                log.warn("User {} has no leetCodeUsername — skipping", userProfile.getId());
-                return;
+                log.warn("User {} has no leetCodeUsername — skipping", user.getId());
+                return SyncOutcome.SKIPPED;
             }
 
             String url = String.format(API_URL, leetCodeUsername);
@@ -46,88 +61,141 @@ public class LeetCodeSyncService {
 
             if (response == null || response.getSubmission() == null) {
                 log.warn("Empty response for user {}", leetCodeUsername);
-                return;
+                return SyncOutcome.FAILED;
             }
 
-            List<SolvedProblem> problems = mapToSolvedProblems(userProfile.getId(), response.getSubmission(),
-                    problemMap);
-
-            if (CollectionUtils.isNotEmpty(problems)) {
-                // 1. Deduplicate by problemId (keep latest or any)
-                // Using a Map to ensure we only have unique problemIds in this batch
-                Map<String, SolvedProblem> uniqueBatchProblems = problems.stream()
-                        .collect(java.util.stream.Collectors.toMap(
-                                SolvedProblem::getProblemId,
-                                p -> p,
-                                (existing, replacement) -> existing // Keep existing if duplicate in batch
-                        ));
-
-                List<String> problemIds = new ArrayList<>(uniqueBatchProblems.keySet());
-
-                // 2. Find which of these are already in DB
-                List<SolvedProblem> existingInDb = solvedProblemRepository
-                        .findSolvedProblemsByProblemIds(userProfile.getId(), problemIds);
-                List<String> existingIds = existingInDb.stream()
-                        .map(SolvedProblem::getProblemId)
-                        .toList();
-
-                // 3. Identify truly NEW problems
-                List<SolvedProblem> newProblems = uniqueBatchProblems.values().stream()
-                        .filter(p -> !existingIds.contains(p.getProblemId()))
-                        .toList();
-
-                // 4. Bulk Upsert ALL (to update timestamps of existing ones too)
-                solvedProblemRepository.bulkUpsertProblems(userProfile.getId(), problems);
-
-                // 5. Increment Stats only for new problems
-                if (CollectionUtils.isNotEmpty(newProblems)) {
-                    int easy = 0;
-                    int medium = 0;
-                    int hard = 0;
-
-                    for (SolvedProblem sp : newProblems) {
-                        Problem p = problemMap.get(sp.getProblemName());
-                        if (p != null && p.getCategory() != null) {
-                            switch (p.getCategory()) {
-                                case EASY -> easy++;
-                                case MEDIUM -> medium++;
-                                case HARD -> hard++;
-                            }
-                        }
-                    }
+            // The watermark only holds for the catalog it was taken against: a problem added
+            // since can match submissions at or before it, so a new catalog reprocesses them all
+            boolean catalogChanged = !Objects.equals(user.getSyncCatalogVersion(), catalog.getVersion());
+            Instant watermark = catalogChanged ? null : user.getSyncWatermark();
+
+            // Same payload as the last fully processed one: nothing to map or write
+            String fingerprint = SubmissionFingerprints.compute(response.getSubmission(), watermark,
+                    catalog.getVersion());
+            if (submissionFingerprints.isUnchanged(user.getId(), fingerprint)) {
+                return SyncOutcome.UNCHANGED;
+            }
+
+            // Only submissions newer than the watermark, deduplicated by problemId (newest wins)
+            SubmissionTally tally = new SubmissionTally();
+            List<SolvedProblem> problems = mapToSolvedProblems(user.getId(), response.getSubmission(),
+                    catalog, watermark, tally);
+            syncMetrics.recordSubmissions(tally);
+            if (tally.unmatched > 0) {
+                log.debug("{} submissions of user {} did not match a catalog problem", tally.unmatched,
+                        leetCodeUsername);
+            }
+
+            if (CollectionUtils.isEmpty(problems) && !catalogChanged) {
+                log.debug("No submissions newer than watermark {} for user {}", watermark, leetCodeUsername);
+                submissionFingerprints.store(user.getId(), fingerprint);
+                return SyncOutcome.UNCHANGED;
+            }
+
+            List<String> problemIds = new ArrayList<>(problems.size());
+            for (SolvedProblem p : problems) {
+                problemIds.add(p.getProblemId());
+            }
+
+            // 1. Find which of these are already in DB
+            Map<String, SolvedProblem> existingById = new HashMap<>();
+            for (SolvedProblem existing : solvedProblemRepository
+                    .findSolvedProblemsByProblemIds(user.getId(), problemIds)) {
+                existingById.put(existing.getProblemId(), existing);
+            }
+
+            // 2. Keep only new rows, or rows re-solved after the stored solvedAt
+            List<SolvedProblem> changedProblems = new ArrayList<>();
+            for (SolvedProblem p : problems) {
+                SolvedProblem existing = existingById.get(p.getProblemId());
+                if (existing == null || isAfter(p.getSolvedAt(), existing.getSolvedAt())) {
+                    changedProblems.add(p);
+                }
+            }
 
-                    if (easy > 0 || medium > 0 || hard > 0) {
-                        userRepository.incrementStats(userProfile.getId(), easy, medium, hard);
+            // 3. Hand the changed rows, analytics deltas and watermark move to the coalescer,
+            // which flushes them together with other users' writes and credits the stats of
+            // the rows its upsert actually inserts
+            Instant newWatermark = newestSolvedAt(problems, user.getSyncWatermark());
+            boolean watermarkMoved = isAfter(newWatermark, user.getSyncWatermark());
+            if (!changedProblems.isEmpty() || watermarkMoved || catalogChanged) {
+                UserSyncUpdate update = new UserSyncUpdate(user.getId(), 0, 0, 0,
+                        watermarkMoved ? newWatermark : null);
+                update.setCatalogVersion(catalog.getVersion());
+                update.setBatchId(user.getBatchId());
+                for (SolvedProblem sp : changedProblems) {
+                    if (sp.getSolvedAt() != null) {
+                        update.getRecentSolves().add(new RecentSolve(sp.getProblemName(), sp.getSolvedAt()));
                     }
                 }
-            } else {
-                log.info("No problems to upsert for user {}", leetCodeUsername);
+                syncWriteCoalescer.submit(changedProblems, update);
             }
+            // Bound to the watermark this sync leaves behind, see SubmissionFingerprints
+            submissionFingerprints.store(user.getId(),
+                    SubmissionFingerprints.compute(response.getSubmission(), newWatermark, catalog.getVersion()));
+
+            return changedProblems.isEmpty() ? SyncOutcome.UNCHANGED : SyncOutcome.SYNCED;
 
         } catch (Exception ex) {
-            log.error("Failed to sync user {}: {}", userProfile.getId(), ex.getMessage(), ex);
+            log.error("Failed to sync user {}: {}", user.getId(), ex.getMessage(), ex);
+            return SyncOutcome.FAILED;
         }
     }
 
-    private List<SolvedProblem> mapToSolvedProblems(String userId, List<LeetCodeSubmission> submissions,
-            Map<String, Problem> problemMap) {
-        List<SolvedProblem> list = new ArrayList<>();
+    // Package-private for the JMH benchmarks
+    List<SolvedProblem> mapToSolvedProblems(String userId, List<LeetCodeSubmission> submissions,
+            ProblemCatalog catalog, Instant watermark, SubmissionTally tally) {
+        Map<String, SolvedProblem> byProblemId = new LinkedHashMap<>();
+        Instant now = Instant.now();
         for (LeetCodeSubmission s : submissions) {
-            if (problemMap.containsKey(s.getTitle())) {
-                Problem matchedProblem = problemMap.get(s.getTitle());
-                SolvedProblem sp = new SolvedProblem();
-                sp.setUserId(userId);
-                sp.setProblemName(s.getTitle());
-                sp.setProblemSlug(s.getTitleSlug());
-                sp.setProblemId(matchedProblem.getId());
-                sp.setLanguage(s.getLang());
-                sp.setUpdatedAt(Instant.now());
-                Instant solvedAt = parseTimeStamp(s.getTimestamp());
-                sp.setSolvedAt(solvedAt);
-                list.add(sp);
+            Instant solvedAt = parseTimeStamp(s.getTimestamp());
+            if (watermark != null && solvedAt != null && !solvedAt.isAfter(watermark)) {
+                tally.alreadySynced++;
+                continue;
+            }
+            Problem matchedProblem = catalog.findByTitle(s.getTitle());
+            if (matchedProblem == null) {
+                tally.unmatched++;
+                continue;
             }
+            tally.matched++;
+            SolvedProblem current = byProblemId.get(matchedProblem.getId());
+            if (current != null) {
+                // One of the two is dropped either way
+                tally.duplicate++;
+                if (!isAfter(solvedAt, current.getSolvedAt())) {
+                    continue;
+                }
+            }
+            SolvedProblem sp = new SolvedProblem();
+            sp.setUserId(userId);
+            sp.setProblemName(s.getTitle());
+            sp.setProblemSlug(s.getTitleSlug());
+            sp.setProblemId(matchedProblem.getId());
+            sp.setLanguage(s.getLang());
+            sp.setUpdatedAt(now);
+            sp.setSolvedAt(solvedAt);
+            byProblemId.put(matchedProblem.getId(), sp);
+        }
+        return new ArrayList<>(byProblemId.values());
+    }
+
+    private Instant newestSolvedAt(List<SolvedProblem> problems, Instant watermark) {
+        Instant newest = watermark;
+        for (SolvedProblem p : problems) {
+            if (isAfter(p.getSolvedAt(), newest)) {
+                newest = p.getSolvedAt();
+            }
+        }
+        return newest;
+    }
+
+    // null-safe: a known instant is after an unknown one, nothing is after null
+    private boolean isAfter(Instant candidate, Instant reference) {
+        if (candidate == null) {
+            return false;
         }
-        return list;
+        return reference == null || candidate.isAfter(reference);
     }
 
     private Instant parseTimeStamp(String timeStamp) {
@@ -0,0 +1,49 @@
+package com.algoverse.platform.service;
+
+import org.springframework.stereotype.Service;
+
+import com.algoverse.platform.catalog.ProblemCatalog;
+import com.algoverse.platform.entity.Problem;
+import com.algoverse.platform.repository.ProblemRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProblemCatalogService {
+
+    private final ProblemRepository problemRepository;
+
+    private volatile Snapshot current;
+
+    /**
+     * Returns the indexed catalog snapshot, rebuilding it only when the
+     * underlying problem list changed. The near cache hands out the same list
+     * instance until it is invalidated, so the check is a reference comparison.
+     */
+    public ProblemCatalog getCatalog() {
+        List<Problem> problems = problemRepository.getAllProblems();
+        Snapshot snapshot = current;
+        if (snapshot != null && snapshot.source() == problems) {
+            return snapshot.catalog();
+        }
+        synchronized (this) {
+            snapshot = current;
+            if (snapshot == null || snapshot.source() != problems) {
+                ProblemCatalog catalog = ProblemCatalog.of(problems);
+                snapshot = new Snapshot(problems, catalog);
+                current = snapshot;
+                log.info("Built problem catalog with {} problems, version {}", catalog.size(),
+                        Long.toHexString(catalog.getVersion()));
+            }
+            return snapshot.catalog();
+        }
+    }
+
+    private record Snapshot(List<Problem> source, ProblemCatalog catalog) {
+    }
+}
@@ -0,0 +1,171 @@
+package com.algoverse.platform.service;
+
+import com.algoverse.platform.dto.IngestionChunkResult;
+import com.algoverse.platform.dto.IngestionReport;
+import com.algoverse.platform.entity.Problem;
+import com.algoverse.platform.repository.ProblemRepository;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Streams problems from NDJSON or a JSON array and upserts them by title in
+ * fixed-size chunks. Only one chunk is held in memory at a time, and only
+ * new or modified problems are written to Mongo. Those are merged into the
+ * shared problem cache at the end, or the cache is evicted if another writer
+ * changed it meanwhile, see {@link ProblemRepository#applyToCache}.
+ */
+@Service
+@Slf4j
+public class ProblemIngestionService {
+
+    private final ProblemRepository problemRepository;
+    private final ObjectReader problemReader;
+    private final int chunkSize;
+
+    public ProblemIngestionService(ProblemRepository problemRepository, ObjectMapper objectMapper,
+            @Value("${algoverse.ingest.chunk-size:500}") int chunkSize) {
+        this.problemRepository = problemRepository;
+        this.problemReader = objectMapper.readerFor(Problem.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Reads the stream to the end, or to the first syntax error. Records that
+     * cannot be mapped to a problem are reported and skipped; chunks applied
+     * before a syntax error stay applied.
+     */
+    public IngestionReport ingest(InputStream input) throws IOException {
+        IngestionReport report = new IngestionReport();
+        List<Problem> changed = new ArrayList<>();
+        List<Problem> chunk = new ArrayList<>(chunkSize);
+        List<String> chunkErrors = new ArrayList<>();
+        int record = 0;
+
+        // A root-level array is unwrapped; otherwise values are read one after another (NDJSON)
+        try (MappingIterator<Problem> problems = problemReader.readValues(input)) {
+            while (problems.hasNextValue()) {
+                record++;
+                try {
+                    chunk.add(problems.nextValue());
+                } catch (JsonMappingException ex) {
+                    // The iterator resyncs to the next record; syntax errors are not recoverable
+                    chunkErrors.add("record " + record + ": " + ex.getOriginalMessage());
+                }
+                if (chunk.size() + chunkErrors.size() >= chunkSize) {
+                    // Handed over before applying, so a chunk that fails is not applied again below
+                    List<Problem> full = chunk;
+                    List<String> fullErrors = chunkErrors;
+                    chunk = new ArrayList<>(chunkSize);
+                    chunkErrors = new ArrayList<>();
+                    report.add(applyChunk(report.getChunks().size(), full, fullErrors, changed));
+                }
+            }
+        } catch (JsonParseException ex) {
+            report.setError("record " + record + ": " + ex.getOriginalMessage());
+        } finally {
+            try {
+                if (!chunk.isEmpty() || !chunkErrors.isEmpty()) {
+                    report.add(applyChunk(report.getChunks().size(), chunk, chunkErrors, changed));
+                }
+            } finally {
+                problemRepository.applyToCache(changed);
+            }
+        }
+
+        log.info("Ingested {} problems in {} chunks: {} inserted, {} updated, {} unchanged, {} failed",
+                report.getReceived(), report.getChunks().size(), report.getInserted(), report.getUpdated(),
+                report.getUnchanged(), report.getFailed());
+        return report;
+    }
+
+    private IngestionChunkResult applyChunk(int index, List<Problem> problems, List<String> errors,
+            List<Problem> changed) {
+        int received = problems.size() + errors.size();
+        int failed = errors.size();
+
+        // Last record wins for a title repeated within the chunk
+        Map<String, Problem> byTitle = new LinkedHashMap<>();
+        for (Problem problem : problems) {
+            if (StringUtils.isBlank(problem.getTitle())) {
+                errors.add("problem without a title");
+                failed++;
+            } else if (byTitle.put(problem.getTitle(), problem) != null) {
+                errors.add("duplicate title in chunk, earlier record skipped: " + problem.getTitle());
+                failed++;
+            }
+        }
+
+        Map<String, Problem> existing = new HashMap<>();
+        for (Problem problem : problemRepository.findByTitles(byTitle.keySet())) {
+            existing.put(problem.getTitle(), problem);
+        }
+
+        List<Problem> writes = new ArrayList<>();
+        int unchanged = 0;
+        for (Problem problem : byTitle.values()) {
+            Problem current = existing.get(problem.getTitle());
+            if (current != null && sameContent(current, problem)) {
+                unchanged++;
+            } else {
+                writes.add(problem);
+            }
+        }
+
+        Map<String, String> failures = problemRepository.bulkUpsertByTitle(writes);
+        failures.forEach((title, reason) -> errors.add(title + ": " + reason));
+        failed += failures.size();
+
+        int inserted = 0;
+        int updated = 0;
+        List<String> writtenTitles = new ArrayList<>();
+        for (Problem problem : writes) {
+            if (!failures.containsKey(problem.getTitle())) {
+                writtenTitles.add(problem.getTitle());
+                if (existing.containsKey(problem.getTitle())) {
+                    updated++;
+                } else {
+                    inserted++;
+                }
+            }
+        }
+        // Re-read so the cache gets the stored documents, ids included
+        if (!writtenTitles.isEmpty()) {
+            changed.addAll(problemRepository.findByTitles(writtenTitles));
+        }
+
+        return IngestionChunkResult.builder()
+                .chunk(index)
+                .received(received)
+                .inserted(inserted)
+                .updated(updated)
+                .unchanged(unchanged)
+                .failed(failed)
+                .errors(errors)
+                .build();
+    }
+
+    private boolean sameContent(Problem a, Problem b) {
+        return Objects.equals(a.getProblemUrl(), b.getProblemUrl())
+                && Objects.equals(a.getTitleSlug(), b.getTitleSlug())
+                && Objects.equals(a.getTopics(), b.getTopics())
+                && a.getCategory() == b.getCategory();
+    }
+}
@@ -1,18 +1,31 @@
 package com.algoverse.platform.service;
 
+import com.algoverse.platform.catalog.ProblemCatalog;
+import com.algoverse.platform.dto.ProblemCursorPage;
 import com.algoverse.platform.dto.ProblemDto;
+import com.algoverse.platform.dto.ProblemSearchResponse;
+import com.algoverse.platform.dto.ProblemSearchResult;
 import com.algoverse.platform.entity.Category;
 import com.algoverse.platform.entity.Problem;
 import com.algoverse.platform.entity.SolvedProblem;
+import com.algoverse.platform.exception.InvalidCursorException;
 import com.algoverse.platform.repository.ProblemRepository;
 import com.algoverse.platform.repository.SolvedProblemRepository;
+import com.algoverse.platform.utils.TitleNormalizer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -22,37 +35,162 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ProblemService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String CURSOR_VERSION = "v1:";
+
     private final ProblemRepository problemRepository;
     private final SolvedProblemRepository solvedProblemRepository;
+    private final ProblemCatalogService problemCatalogService;
+    private final SolvedProblemBitmapService solvedProblemBitmapService;
 
     public Page<ProblemDto> getProblems(String title, Set<String> topics, Category category, int page, int size,
             String userId) {
+        return getProblems(title, topics, category, page, size, false, userId);
+    }
+
+    /**
+     * @param unsolvedOnly hide the user's solved problems; ignored for anonymous requests
+     */
+    public Page<ProblemDto> getProblems(String title, Set<String> topics, Category category, int page, int size,
+            boolean unsolvedOnly, String userId) {
+        if (unsolvedOnly && StringUtils.hasText(userId)) {
+            return getUnsolvedProblems(title, topics, category, PageRequest.of(page, size), userId);
+        }
         Page<Problem> problemsPage = problemRepository.findProblems(title, topics, category,
                 PageRequest.of(page, size));
+        return new PageImpl<>(toDtos(problemsPage.getContent(), userId), problemsPage.getPageable(),
+                problemsPage.getTotalElements());
+    }
+
+    /**
+     * One page of matches together with the total and topic/category facet counts.
+     */
+    public ProblemSearchResponse searchProblems(String title, Set<String> topics, Category category, int page,
+            int size, String userId) {
+        ProblemSearchResult result = problemRepository.searchProblems(title, topics, category,
+                PageRequest.of(page, size), true);
+        return ProblemSearchResponse.builder()
+                .results(toDtos(result.getProblems(), userId))
+                .total(result.getTotal())
+                .page(page)
+                .size(size)
+                .topicCounts(result.getTopicCounts())
+                .categoryCounts(result.getCategoryCounts())
+                .build();
+    }
+
+    /**
+     * Keyset page: the problems after {@code cursor} in id order, with a cursor for
+     * the next page. The total is counted only when asked for, and cached.
+     */
+    public ProblemCursorPage getProblemsAfter(String title, Set<String> topics, Category category, String cursor,
+            int size, boolean includeTotal, String userId) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        String afterId = cursor != null ? decodeCursor(cursor) : null;
+
+        // One extra row tells whether another page exists
+        List<Problem> problems = problemRepository.findProblemsAfter(title, topics, category, afterId, limit + 1);
+        String nextCursor = null;
+        if (problems.size() > limit) {
+            problems = problems.subList(0, limit);
+            nextCursor = encodeCursor(problems.get(limit - 1).getId());
+        }
+
+        return ProblemCursorPage.builder()
+                .results(toDtos(problems, userId))
+                .nextCursor(nextCursor)
+                .total(includeTotal ? problemRepository.countProblems(title, topics, category) : null)
+                .build();
+    }
+
+    /**
+     * Answers an unsolved-only listing from the catalog alone: the category range
+     * and topic sets are intersected, the solved bitmap is subtracted and only
+     * the survivors are title-matched. Results are in catalog ordinal order.
+     */
+    private Page<ProblemDto> getUnsolvedProblems(String title, Set<String> topics, Category category,
+            Pageable pageable, String userId) {
+        ProblemCatalog catalog = problemCatalogService.getCatalog();
+        BitSet candidates = catalog.matching(topics, category);
+        candidates.andNot(solvedProblemBitmapService.getSolved(userId, catalog));
+
+        String query = TitleNormalizer.normalize(title);
+        boolean filterTitle = StringUtils.hasText(query);
+        long first = pageable.getOffset();
+        long total = 0;
+        List<ProblemDto> content = new ArrayList<>(pageable.getPageSize());
+        for (int ordinal = candidates.nextSetBit(0); ordinal >= 0; ordinal = candidates.nextSetBit(ordinal + 1)) {
+            Problem problem = catalog.get(ordinal);
+            if (filterTitle && !TitleNormalizer.matches(TitleNormalizer.normalize(problem.getTitle()), query)) {
+                continue;
+            }
+            if (total >= first && content.size() < pageable.getPageSize()) {
+                content.add(mapToDto(problem));
+            }
+            total++;
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
 
+    private List<ProblemDto> toDtos(List<Problem> problems, String userId) {
         // Optimize: If no user logged in, or no problems found, return early
-        if (!StringUtils.hasText(userId) || problemsPage.isEmpty()) {
-            return problemsPage.map(this::mapToDto);
+        if (!StringUtils.hasText(userId) || problems.isEmpty()) {
+            return problems.stream().map(this::mapToDto).collect(Collectors.toList());
         }
 
-        // Fetch solved status only for the problems in the current page
-        List<String> problemIds = problemsPage.getContent().stream()
+        Set<String> solvedProblemIds = solvedProblemIds(problems, userId);
+        return problems.stream().map(problem -> {
+            ProblemDto dto = mapToDto(problem);
+            if (problem.getId() != null && solvedProblemIds.contains(problem.getId())) {
+                dto.setSolved(true);
+            }
+            return dto;
+        }).collect(Collectors.toList());
+    }
+
+    // Solved flags come from the user's bitmap; Mongo is only asked if Redis is unavailable
+    private Set<String> solvedProblemIds(List<Problem> problems, String userId) {
+        try {
+            ProblemCatalog catalog = problemCatalogService.getCatalog();
+            BitSet solved = solvedProblemBitmapService.getSolved(userId, catalog);
+            Set<String> solvedProblemIds = new HashSet<>();
+            for (Problem problem : problems) {
+                int ordinal = catalog.ordinalOfId(problem.getId());
+                if (ordinal >= 0 && solved.get(ordinal)) {
+                    solvedProblemIds.add(problem.getId());
+                }
+            }
+            return solvedProblemIds;
+        } catch (Exception ex) {
+            log.warn("Solved bitmap unavailable for user {}, querying Mongo: {}", userId, ex.getMessage());
+        }
+
+        List<String> problemIds = problems.stream()
                 .map(Problem::getId)
                 .collect(Collectors.toList());
-
         List<SolvedProblem> solvedProblemsByCurrentUser = solvedProblemRepository.findSolvedProblemsByProblemIds(userId,
                 problemIds);
-        Set<String> solvedProblemIds = solvedProblemsByCurrentUser.stream()
+        return solvedProblemsByCurrentUser.stream()
                 .map(SolvedProblem::getProblemId)
                 .collect(Collectors.toSet());
+    }
 
-        return problemsPage.map(problem -> {
-            ProblemDto dto = mapToDto(problem);
-            if (problem.getId() != null && solvedProblemIds.contains(problem.getId())) {
-                dto.setSolved(true);
-            }
-            return dto;
-        });
+    private String encodeCursor(String problemId) {
+        String raw = CURSOR_VERSION + problemId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String decodeCursor(String cursor) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Invalid problems cursor");
+        }
+        if (!decoded.startsWith(CURSOR_VERSION) || decoded.length() == CURSOR_VERSION.length()) {
+            throw new InvalidCursorException("Invalid problems cursor");
+        }
+        return decoded.substring(CURSOR_VERSION.length());
     }
 
     private ProblemDto mapToDto(Problem problem) {
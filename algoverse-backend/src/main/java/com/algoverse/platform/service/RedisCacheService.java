@@ -1,14 +1,46 @@
 package com.algoverse.platform.service;
 
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 @Service
 public class RedisCacheService {
 
+    private static final RedisScript<Long> UNLOCK = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+              return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    // Raw-bytes script: the value is written as is, not through the value serializer
+    private static final byte[] SET_IF_VERSION = """
+            if tonumber(redis.call('GET', KEYS[1]) or '0') ~= tonumber(ARGV[1]) then
+              return 0
+            end
+            redis.call('SET', KEYS[2], ARGV[2], 'PX', ARGV[3])
+            redis.call('INCR', KEYS[1])
+            return 1
+            """.getBytes(StandardCharsets.UTF_8);
+
     private final RedisTemplate<String, Object> redisTemplate;
 
     public RedisCacheService(RedisTemplate<String, Object> redisTemplate) {
@@ -59,10 +91,221 @@ public class RedisCacheService {
         return Boolean.TRUE.equals(redisTemplate.hasKey(key));
     }
 
+    /**
+     * Take a lock with SET NX PX; returns the owner token, or null if someone holds it
+     */
+    public String tryLock(String key, Duration ttl) {
+        String token = UUID.randomUUID().toString();
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, token, ttl)) ? token : null;
+    }
+
+    /**
+     * Release a lock, only if it is still held with this token
+     */
+    public void unlock(String key, String token) {
+        redisTemplate.execute(UNLOCK, List.of(key), token);
+    }
+
     /**
      * Update TTL for existing key
      */
     public boolean expire(String key, Duration ttl) {
         return Boolean.TRUE.equals(redisTemplate.expire(key, ttl));
     }
+
+    /**
+     * Atomically increment a numeric key, creating it if absent
+     */
+    public long increment(String key) {
+        Long value = redisTemplate.opsForValue().increment(key);
+        return value != null ? value : 0L;
+    }
+
+    /**
+     * Read a numeric key, 0 if absent
+     */
+    public long getLong(String key) {
+        Object value = redisTemplate.opsForValue().get(key);
+        return value instanceof Number number ? number.longValue() : 0L;
+    }
+
+    /**
+     * Publish a message on a pub/sub channel
+     */
+    public void publish(String channel, Object message) {
+        redisTemplate.convertAndSend(channel, message);
+    }
+
+    /**
+     * Decode a pub/sub message body with the value serializer
+     */
+    public Object deserialize(byte[] body) {
+        return redisTemplate.getValueSerializer().deserialize(body);
+    }
+
+    /**
+     * Add or update a sorted set member
+     */
+    public void zAdd(String key, Object member, double score) {
+        redisTemplate.opsForZSet().add(key, member, score);
+    }
+
+    /**
+     * Add or update many sorted set members in one command
+     */
+    public void zAddAll(String key, Set<TypedTuple<Object>> tuples) {
+        if (!tuples.isEmpty()) {
+            redisTemplate.opsForZSet().add(key, tuples);
+        }
+    }
+
+    /**
+     * Remove a sorted set member
+     */
+    public void zRemove(String key, Object member) {
+        redisTemplate.opsForZSet().remove(key, member);
+    }
+
+    /**
+     * 0-based rank in descending score order, null if not a member
+     */
+    public Long zRevRank(String key, Object member) {
+        return redisTemplate.opsForZSet().reverseRank(key, member);
+    }
+
+    /**
+     * Members with scores between two ranks (inclusive) in descending score order
+     */
+    public List<TypedTuple<Object>> zRevRangeWithScores(String key, long start, long end) {
+        Set<TypedTuple<Object>> tuples = redisTemplate.opsForZSet().reverseRangeWithScores(key, start, end);
+        return tuples != null ? new ArrayList<>(tuples) : Collections.emptyList();
+    }
+
+    /**
+     * Members whose score is exactly the given one, in descending member order
+     */
+    public List<Object> zRevRangeByScore(String key, double score) {
+        Set<Object> members = redisTemplate.opsForZSet().reverseRangeByScore(key, score, score);
+        return members != null ? new ArrayList<>(members) : Collections.emptyList();
+    }
+
+    /**
+     * Up to {@code count} members with scores strictly below the given one, in descending score order
+     */
+    public List<TypedTuple<Object>> zRevRangeBelowWithScores(String key, double score, long count) {
+        Set<TypedTuple<Object>> tuples = redisTemplate.opsForZSet().reverseRangeByScoreWithScores(key,
+                Double.NEGATIVE_INFINITY, Math.nextDown(score), 0, count);
+        return tuples != null ? new ArrayList<>(tuples) : Collections.emptyList();
+    }
+
+    /**
+     * Number of members with a score strictly greater than the given one
+     */
+    public long zCountAbove(String key, double score) {
+        Long count = redisTemplate.opsForZSet().count(key, Math.nextUp(score), Double.POSITIVE_INFINITY);
+        return count != null ? count : 0L;
+    }
+
+    /**
+     * Number of members in a sorted set
+     */
+    public long zCard(String key) {
+        Long size = redisTemplate.opsForZSet().zCard(key);
+        return size != null ? size : 0L;
+    }
+
+    /**
+     * Set a hash field
+     */
+    public void hPut(String key, String field, Object value) {
+        redisTemplate.opsForHash().put(key, field, value);
+    }
+
+    /**
+     * Set many hash fields in one command
+     */
+    public void hPutAll(String key, Map<String, ?> values) {
+        if (!values.isEmpty()) {
+            redisTemplate.opsForHash().putAll(key, values);
+        }
+    }
+
+    /**
+     * Get many hash fields, in the order of the requested fields
+     */
+    public List<Object> hMultiGet(String key, Collection<String> fields) {
+        if (fields.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return redisTemplate.opsForHash().multiGet(key, new ArrayList<>(fields));
+    }
+
+    /**
+     * Atomically replace a key with another one
+     */
+    public void rename(String oldKey, String newKey) {
+        redisTemplate.rename(oldKey, newKey);
+    }
+
+    /**
+     * Run a Lua script atomically on the server
+     */
+    public <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+        return redisTemplate.execute(script, keys, args);
+    }
+
+    /**
+     * Read a key as raw bytes, bypassing the value serializer (e.g. a bitmap)
+     */
+    public byte[] getBytes(String key) {
+        byte[] rawKey = rawKey(key);
+        return redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands().get(rawKey));
+    }
+
+    /**
+     * Write raw bytes with a TTL, bypassing the value serializer
+     */
+    public void setBytes(String key, byte[] value, Duration ttl) {
+        byte[] rawKey = rawKey(key);
+        redisTemplate.execute((RedisCallback<Object>) connection ->
+                connection.stringCommands().set(rawKey, value, Expiration.from(ttl), SetOption.upsert()));
+    }
+
+    /**
+     * Write raw bytes with a TTL and increment a version key, only if that version is still the
+     * expected one; returns whether it did
+     */
+    public boolean setBytesIfVersion(String versionKey, long expectedVersion, String key, byte[] value,
+            Duration ttl) {
+        byte[] rawVersionKey = rawKey(versionKey);
+        byte[] rawKey = rawKey(key);
+        Long applied = redisTemplate.execute((RedisCallback<Long>) connection -> connection.scriptingCommands()
+                .eval(SET_IF_VERSION, ReturnType.INTEGER, 2, rawVersionKey, rawKey,
+                        Long.toString(expectedVersion).getBytes(StandardCharsets.UTF_8), value,
+                        Long.toString(ttl.toMillis()).getBytes(StandardCharsets.UTF_8)));
+        return applied != null && applied == 1L;
+    }
+
+    /**
+     * Set bits on several bitmap keys in one pipeline, refreshing each key's TTL
+     */
+    public void setBits(Map<String, ? extends Collection<Long>> offsetsByKey, Duration ttl) {
+        if (offsetsByKey.isEmpty()) {
+            return;
+        }
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            offsetsByKey.forEach((key, offsets) -> {
+                byte[] rawKey = rawKey(key);
+                for (Long offset : offsets) {
+                    connection.stringCommands().setBit(rawKey, offset, true);
+                }
+                connection.keyCommands().pExpire(rawKey, ttl.toMillis());
+            });
+            return null;
+        });
+    }
+
+    private byte[] rawKey(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
 }
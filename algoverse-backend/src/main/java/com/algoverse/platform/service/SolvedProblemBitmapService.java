@@ -0,0 +1,169 @@
+package com.algoverse.platform.service;
+
+import com.algoverse.platform.cache.NearCache;
+import com.algoverse.platform.catalog.ProblemCatalog;
+import com.algoverse.platform.entity.SolvedProblem;
+import com.algoverse.platform.repository.SolvedProblemRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-user bitmap of solved problems over the catalog ordinals.
+ * <p>
+ * The bitmap is a native Redis bit string keyed by catalog version, so a
+ * catalog change (which reassigns ordinals) simply starts new keys. Bits are
+ * only ever set, never cleared, so concurrent sync updates and rebuilds can
+ * interleave freely. The bit one past the last ordinal marks a bitmap as
+ * fully built; without it the bitmap is rebuilt from Mongo on read.
+ * <p>
+ * Decoded bitmaps are kept in a per-node near cache. A node that sets bits
+ * publishes the users on an invalidation channel so every node drops its copy;
+ * a lost message leaves a copy stale for at most the near cache TTL. While
+ * Redis is unreachable, bitmaps are built from Mongo on every read.
+ */
+@Service
+@Slf4j
+public class SolvedProblemBitmapService {
+
+    private static final String KEY = "solved:bits:%s:%s";
+    private static final String INVALIDATION_CHANNEL = "solved:bits:invalidate";
+
+    private final RedisCacheService redisCacheService;
+    private final SolvedProblemRepository solvedProblemRepository;
+    private final ProblemCatalogService problemCatalogService;
+    private final Duration ttl;
+    private final NearCache<String, BitSet> nearCache;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    public SolvedProblemBitmapService(RedisCacheService redisCacheService,
+            SolvedProblemRepository solvedProblemRepository, ProblemCatalogService problemCatalogService,
+            RedisMessageListenerContainer listenerContainer,
+            @Value("${algoverse.cache.solved-bits.ttl:P7D}") Duration ttl,
+            @Value("${algoverse.cache.solved-bits.near.max-entries:10000}") int nearMaxEntries,
+            @Value("${algoverse.cache.solved-bits.near.ttl:PT30S}") Duration nearTtl) {
+        this.redisCacheService = redisCacheService;
+        this.solvedProblemRepository = solvedProblemRepository;
+        this.problemCatalogService = problemCatalogService;
+        this.ttl = ttl;
+        this.nearCache = new NearCache<>(nearMaxEntries, nearTtl);
+        this.listenerContainer = listenerContainer;
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this::onInvalidation, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    /**
+     * Ordinals of the problems the user solved. The returned set is shared and must not be modified.
+     */
+    public BitSet getSolved(String userId, ProblemCatalog catalog) {
+        BitSet solved = nearCache.getIfFresh(userId, catalog.getVersion());
+        if (solved != null) {
+            return solved;
+        }
+
+        byte[] raw;
+        try {
+            raw = redisCacheService.getBytes(key(userId, catalog));
+        } catch (Exception ex) {
+            log.warn("Solved bitmap of user {} unavailable, reading Mongo: {}", userId, ex.getMessage());
+            return fromMongo(userId, catalog);
+        }
+        solved = raw != null ? fromRedisBits(raw) : new BitSet();
+        if (!solved.get(catalog.size())) {
+            solved = rebuild(userId, catalog);
+        }
+        solved.clear(catalog.size());
+        nearCache.put(userId, solved, catalog.getVersion());
+        return solved;
+    }
+
+    /**
+     * Sets the bits of newly synced solves.
+     */
+    public void markSolved(Collection<SolvedProblem> problems) {
+        if (problems.isEmpty()) {
+            return;
+        }
+        ProblemCatalog catalog = problemCatalogService.getCatalog();
+        Map<String, List<Long>> offsetsByKey = new HashMap<>();
+        Set<String> userIds = new HashSet<>();
+        for (SolvedProblem problem : problems) {
+            int ordinal = catalog.ordinalOfId(problem.getProblemId());
+            if (ordinal >= 0) {
+                offsetsByKey.computeIfAbsent(key(problem.getUserId(), catalog), k -> new ArrayList<>())
+                        .add((long) ordinal);
+            }
+            userIds.add(problem.getUserId());
+            nearCache.invalidate(problem.getUserId());
+        }
+        redisCacheService.setBits(offsetsByKey, ttl);
+        redisCacheService.publish(INVALIDATION_CHANNEL, new ArrayList<>(userIds));
+    }
+
+    private BitSet rebuild(String userId, ProblemCatalog catalog) {
+        BitSet solved = fromMongo(userId, catalog);
+        List<Long> offsets = new ArrayList<>(solved.cardinality() + 1);
+        for (int ordinal = solved.nextSetBit(0); ordinal >= 0; ordinal = solved.nextSetBit(ordinal + 1)) {
+            offsets.add((long) ordinal);
+        }
+        solved.set(catalog.size());
+        offsets.add((long) catalog.size());
+        redisCacheService.setBits(Map.of(key(userId, catalog), offsets), ttl);
+        log.debug("Rebuilt solved bitmap for user {} with {} problems", userId, offsets.size() - 1);
+        return solved;
+    }
+
+    private BitSet fromMongo(String userId, ProblemCatalog catalog) {
+        BitSet solved = new BitSet(catalog.size() + 1);
+        for (String problemId : solvedProblemRepository.findSolvedProblemIds(userId)) {
+            int ordinal = catalog.ordinalOfId(problemId);
+            if (ordinal >= 0) {
+                solved.set(ordinal);
+            }
+        }
+        return solved;
+    }
+
+    private void onInvalidation(Message message, byte[] pattern) {
+        if (redisCacheService.deserialize(message.getBody()) instanceof Collection<?> userIds) {
+            for (Object userId : userIds) {
+                nearCache.invalidate(String.valueOf(userId));
+            }
+        }
+    }
+
+    // Redis numbers bits from the most significant bit of the first byte; package-private for tests
+    static BitSet fromRedisBits(byte[] raw) {
+        BitSet bits = new BitSet(raw.length * 8);
+        for (int i = 0; i < raw.length; i++) {
+            int b = raw[i] & 0xff;
+            while (b != 0) {
+                int highest = Integer.numberOfLeadingZeros(b) - 24;
+                bits.set(i * 8 + highest);
+                b &= ~(0x80 >>> highest);
+            }
+        }
+        return bits;
+    }
+
+    private String key(String userId, ProblemCatalog catalog) {
+        return String.format(KEY, Long.toHexString(catalog.getVersion()), userId);
+    }
+}
@@ -0,0 +1,214 @@
+package com.algoverse.platform.service;
+
+import com.algoverse.platform.entity.SolvedProblem;
+import com.algoverse.platform.entity.UserActivity;
+import com.algoverse.platform.repository.SolvedProblemRepository;
+import com.algoverse.platform.repository.UserActivityRepository;
+import com.algoverse.platform.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Maintains {@code currentStreak} and {@code maxStreak} from a per-user bitset
+ * of active days ({@link UserActivity}).
+ * <p>
+ * The sync pipeline feeds newly discovered solves in; only the days they touch
+ * are looked at: each newly set day extends the run around it, which can only
+ * raise the max streak. A daily job ends streaks of users who missed a day,
+ * and the backfill rebuilds every bitset from solved_problems.
+ * <p>
+ * Both writers save a document only if it is still at the revision they read,
+ * and redo the users that changed meanwhile, so a backfill and a sync update
+ * racing on the same user never overwrite each other's days.
+ */
+@Service
+@Slf4j
+public class StreakService {
+
+    private static final int MAX_SAVE_ATTEMPTS = 3;
+
+    private final UserActivityRepository userActivityRepository;
+    private final SolvedProblemRepository solvedProblemRepository;
+    private final UserRepository userRepository;
+    private final int backfillChunkSize;
+    private final int backfillParallelism;
+
+    public StreakService(UserActivityRepository userActivityRepository,
+            SolvedProblemRepository solvedProblemRepository, UserRepository userRepository,
+            @Value("${algoverse.streak.backfill.chunk-size:500}") int backfillChunkSize,
+            @Value("${algoverse.streak.backfill.parallelism:4}") int backfillParallelism) {
+        this.userActivityRepository = userActivityRepository;
+        this.solvedProblemRepository = solvedProblemRepository;
+        this.userRepository = userRepository;
+        this.backfillChunkSize = backfillChunkSize;
+        this.backfillParallelism = backfillParallelism;
+    }
+
+    /**
+     * Applies solves written by the sync pipeline. Users without an activity
+     * document yet are built in full from solved_problems, which already
+     * contains these rows.
+     */
+    public void recordSolves(Collection<SolvedProblem> solves) {
+        Map<String, Set<Integer>> daysByUser = new HashMap<>();
+        for (SolvedProblem solve : solves) {
+            if (solve.getSolvedAt() == null) {
+                continue;
+            }
+            int day = ActivityDays.dayOf(solve.getSolvedAt());
+            if (day >= 0) {
+                daysByUser.computeIfAbsent(solve.getUserId(), u -> new HashSet<>()).add(day);
+            }
+        }
+        if (daysByUser.isEmpty()) {
+            return;
+        }
+
+        int today = ActivityDays.today();
+        Set<String> pending = daysByUser.keySet();
+        for (int attempt = 0; attempt < MAX_SAVE_ATTEMPTS && !pending.isEmpty(); attempt++) {
+            List<UserActivity> changed = new ArrayList<>();
+            Set<String> missing = new HashSet<>(pending);
+            for (UserActivity activity : userActivityRepository.findByUserIds(pending)) {
+                missing.remove(activity.getUserId());
+                if (apply(activity, daysByUser.get(activity.getUserId()), today)) {
+                    changed.add(activity);
+                }
+            }
+            changed.addAll(rebuild(missing, today));
+            pending = save(changed);
+        }
+        if (!pending.isEmpty()) {
+            log.warn("Streaks of {} users kept changing concurrently, left to the backfill", pending.size());
+        }
+    }
+
+    /**
+     * Ends the current streak of every user with no solve today or yesterday.
+     */
+    public int expireStreaks() {
+        List<String> userIds = userActivityRepository.expireStreaks(ActivityDays.today() - 1);
+        userRepository.resetCurrentStreaks(userIds);
+        return userIds.size();
+    }
+
+    /**
+     * Rebuilds the activity of every user with solved problems, in parallel chunks.
+     */
+    public int backfill() {
+        List<String> userIds = solvedProblemRepository.findDistinctUserIds();
+        int today = ActivityDays.today();
+        AtomicInteger done = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(backfillParallelism);
+        try {
+            List<CompletableFuture<Void>> chunks = new ArrayList<>();
+            for (int from = 0; from < userIds.size(); from += backfillChunkSize) {
+                List<String> chunk = userIds.subList(from, Math.min(from + backfillChunkSize, userIds.size()));
+                chunks.add(CompletableFuture.runAsync(() -> {
+                    backfillChunk(chunk, today);
+                    log.debug("Streak backfill: {} of {} users", done.addAndGet(chunk.size()), userIds.size());
+                }, executor));
+            }
+            CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0])).join();
+        } finally {
+            executor.shutdown();
+        }
+        log.info("Backfilled streaks for {} users", userIds.size());
+        return userIds.size();
+    }
+
+    // Revisions are read before the solves, so a sync update landing in between is a conflict
+    private void backfillChunk(Collection<String> userIds, int today) {
+        Collection<String> pending = userIds;
+        for (int attempt = 0; attempt < MAX_SAVE_ATTEMPTS && !pending.isEmpty(); attempt++) {
+            Map<String, String> revisions = userActivityRepository.findRevisions(pending);
+            List<UserActivity> activities = rebuild(pending, today);
+            for (UserActivity activity : activities) {
+                activity.setRevision(revisions.get(activity.getUserId()));
+            }
+            pending = save(activities);
+        }
+        if (!pending.isEmpty()) {
+            log.warn("Streak backfill skipped {} users that kept changing concurrently", pending.size());
+        }
+    }
+
+    // Saves what is still at its read revision, copies those streaks to the profiles, returns the rest
+    private Set<String> save(List<UserActivity> activities) {
+        Set<String> conflicts = userActivityRepository.bulkSaveIfRevision(activities);
+        List<UserActivity> saved = new ArrayList<>(activities.size());
+        for (UserActivity activity : activities) {
+            if (!conflicts.contains(activity.getUserId())) {
+                saved.add(activity);
+            }
+        }
+        userRepository.bulkUpdateStreaks(saved);
+        return conflicts;
+    }
+
+    // Sets the new days; true if any was not already set
+    private static boolean apply(UserActivity activity, Set<Integer> days, int today) {
+        BitSet bits = activity.getDays() != null ? BitSet.valueOf(activity.getDays()) : new BitSet();
+        boolean changed = false;
+        int maxStreak = activity.getMaxStreak();
+        int lastActiveDay = activity.getLastActiveDay();
+        for (int day : days) {
+            if (bits.get(day)) {
+                continue;
+            }
+            bits.set(day);
+            changed = true;
+            maxStreak = Math.max(maxStreak, ActivityDays.runThrough(bits, day));
+            lastActiveDay = Math.max(lastActiveDay, day);
+        }
+        if (!changed) {
+            return false;
+        }
+        activity.setDays(bits.toByteArray());
+        activity.setMaxStreak(maxStreak);
+        activity.setLastActiveDay(lastActiveDay);
+        activity.setCurrentStreak(ActivityDays.currentStreak(bits, today));
+        return true;
+    }
+
+    private List<UserActivity> rebuild(Collection<String> userIds, int today) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        Map<String, BitSet> bitsByUser = new HashMap<>();
+        for (String userId : userIds) {
+            bitsByUser.put(userId, new BitSet());
+        }
+        for (SolvedProblem solve : solvedProblemRepository.findSolveTimes(userIds)) {
+            int day = ActivityDays.dayOf(solve.getSolvedAt());
+            if (day >= 0) {
+                bitsByUser.get(solve.getUserId()).set(day);
+            }
+        }
+        List<UserActivity> activities = new ArrayList<>(bitsByUser.size());
+        bitsByUser.forEach((userId, bits) -> {
+            UserActivity activity = new UserActivity();
+            activity.setUserId(userId);
+            activity.setDays(bits.toByteArray());
+            activity.setMaxStreak(ActivityDays.maxStreak(bits));
+            activity.setCurrentStreak(ActivityDays.currentStreak(bits, today));
+            activity.setLastActiveDay(bits.length() - 1);
+            activities.add(activity);
+        });
+        return activities;
+    }
+}
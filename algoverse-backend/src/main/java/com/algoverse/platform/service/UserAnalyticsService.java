@@ -0,0 +1,102 @@
+package com.algoverse.platform.service;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+
+import com.algoverse.platform.catalog.ProblemCatalog;
+import com.algoverse.platform.dto.SolvedProblemView;
+import com.algoverse.platform.entity.Problem;
+import com.algoverse.platform.entity.RecentSolve;
+import com.algoverse.platform.entity.UserAnalytics;
+import com.algoverse.platform.repository.SolvedProblemRepository;
+import com.algoverse.platform.repository.UserAnalyticsRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserAnalyticsService {
+
+    private final UserAnalyticsRepository userAnalyticsRepository;
+    private final SolvedProblemRepository solvedProblemRepository;
+
+    /**
+     * Returns the user's aggregate with a single keyed read, building and
+     * storing it from solved_problems the first time.
+     * <p>
+     * The build is only ever inserted, so it cannot overwrite increments the
+     * sync coalescer applied meanwhile. Increments skipped because no aggregate
+     * existed yet show up as a changed row count, in which case the build is
+     * discarded and redone on the next read.
+     */
+    public UserAnalytics getOrBuild(String userId, ProblemCatalog catalog) {
+        UserAnalytics analytics = userAnalyticsRepository.findByUserId(userId);
+        if (analytics != null) {
+            return analytics;
+        }
+        List<SolvedProblemView> solvedProblems = solvedProblemRepository.findSolvedProblemViews(userId);
+        analytics = build(userId, solvedProblems, catalog);
+        if (analytics.getTotalSolved() == 0) {
+            return analytics;
+        }
+        if (!userAnalyticsRepository.insertIfAbsent(analytics)) {
+            UserAnalytics stored = userAnalyticsRepository.findByUserId(userId);
+            return stored != null ? stored : analytics;
+        }
+        if (solvedProblemRepository.countByUserId(userId) != solvedProblems.size()) {
+            userAnalyticsRepository.deleteByUserId(userId);
+            log.debug("Solved problems of user {} changed during the analytics build, discarding it", userId);
+            return analytics;
+        }
+        log.info("Built analytics aggregate for user {} from {} solved problems", userId,
+                analytics.getTotalSolved());
+        return analytics;
+    }
+
+    // Package-private for the JMH benchmarks
+    UserAnalytics build(String userId, List<SolvedProblemView> solvedProblems, ProblemCatalog catalog) {
+        UserAnalytics analytics = new UserAnalytics();
+        analytics.setUserId(userId);
+        analytics.setUpdatedAt(Instant.now());
+
+        int easy = 0;
+        int medium = 0;
+        int hard = 0;
+        for (SolvedProblemView sp : solvedProblems) {
+            Problem p = catalog.findById(sp.getProblemId());
+            if (p == null) {
+                continue;
+            }
+            if (p.getCategory() != null) {
+                switch (p.getCategory()) {
+                    case EASY -> easy++;
+                    case MEDIUM -> medium++;
+                    case HARD -> hard++;
+                }
+            }
+            if (p.getTopics() != null) {
+                for (String topic : p.getTopics()) {
+                    analytics.getTopicSolved().merge(UserAnalytics.encodeTopic(topic), 1, Integer::sum);
+                }
+            }
+        }
+        analytics.setEasySolved(easy);
+        analytics.setMediumSolved(medium);
+        analytics.setHardSolved(hard);
+        analytics.setTotalSolved(easy + medium + hard);
+
+        analytics.setRecentSolves(solvedProblems.stream()
+                .filter(sp -> sp.getSolvedAt() != null)
+                .sorted(Comparator.comparing(SolvedProblemView::getSolvedAt).reversed())
+                .limit(UserAnalytics.RECENT_SOLVES_LIMIT)
+                .map(sp -> new RecentSolve(sp.getProblemName(), sp.getSolvedAt()))
+                .collect(Collectors.toList()));
+        return analytics;
+    }
+}
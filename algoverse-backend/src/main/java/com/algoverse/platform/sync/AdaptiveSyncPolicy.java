@@ -0,0 +1,81 @@
+package com.algoverse.platform.sync;
+
+import com.algoverse.platform.config.SyncProperties;
+import com.algoverse.platform.dto.SyncUserView;
+import com.algoverse.platform.dto.UserSyncUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Decides when each user is synced next and which due users a run spends its budget on.
+ * <p>
+ * A sync that finds new solves brings the user back after the minimum
+ * interval. Each idle sync doubles the interval from the base up to the cap,
+ * except that users whose newest solve is inside the hot window stay at the
+ * base interval. Failures retry at the base interval without counting as idle.
+ */
+@Component
+@RequiredArgsConstructor
+public class AdaptiveSyncPolicy {
+
+    // Shifts past this would overflow long before reaching any sane cap
+    private static final int MAX_BACKOFF_SHIFT = 20;
+
+    private static final Comparator<SyncUserView> MOST_OVERDUE_FIRST = Comparator
+            .comparing(SyncUserView::getNextSyncAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(SyncUserView::getId);
+
+    private final SyncProperties syncProperties;
+
+    /**
+     * The due users this run syncs: the most overdue (never scheduled first) up to the run budget.
+     * Deterministic, so every replica picks the same users.
+     */
+    public List<SyncUserView> select(List<SyncUserView> dueUsers) {
+        int budget = syncProperties.getAdaptive().getRunBudget();
+        if (dueUsers.size() <= budget) {
+            return dueUsers;
+        }
+        PriorityQueue<SyncUserView> queue = new PriorityQueue<>(dueUsers.size(), MOST_OVERDUE_FIRST);
+        queue.addAll(dueUsers);
+        List<SyncUserView> selected = new ArrayList<>(budget);
+        while (selected.size() < budget) {
+            selected.add(queue.poll());
+        }
+        return selected;
+    }
+
+    /**
+     * Schedule update to apply after a sync of the user ended with the given outcome.
+     */
+    public UserSyncUpdate nextSync(SyncUserView user, SyncOutcome outcome, Instant now) {
+        SyncProperties.Adaptive adaptive = syncProperties.getAdaptive();
+        int idle = user.getIdleSyncStreak() != null ? user.getIdleSyncStreak() : 0;
+        return switch (outcome) {
+            case SYNCED -> UserSyncUpdate.schedule(user.getId(), now.plus(adaptive.getMinInterval()), 0);
+            case FAILED -> UserSyncUpdate.schedule(user.getId(), now.plus(adaptive.getBaseInterval()), idle);
+            case SKIPPED -> UserSyncUpdate.schedule(user.getId(), now.plus(adaptive.getMaxInterval()), idle);
+            case UNCHANGED -> {
+                int streak = idle + 1;
+                yield UserSyncUpdate.schedule(user.getId(), now.plus(idleInterval(user, streak, now)), streak);
+            }
+        };
+    }
+
+    private Duration idleInterval(SyncUserView user, int streak, Instant now) {
+        SyncProperties.Adaptive adaptive = syncProperties.getAdaptive();
+        Instant lastSolve = user.getSyncWatermark();
+        if (lastSolve != null && lastSolve.isAfter(now.minus(adaptive.getHotWindow()))) {
+            return adaptive.getBaseInterval();
+        }
+        Duration backoff = adaptive.getBaseInterval().multipliedBy(1L << Math.min(streak - 1, MAX_BACKOFF_SHIFT));
+        return backoff.compareTo(adaptive.getMaxInterval()) > 0 ? adaptive.getMaxInterval() : backoff;
+    }
+}
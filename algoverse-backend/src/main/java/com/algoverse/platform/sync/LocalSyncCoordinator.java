@@ -0,0 +1,101 @@
+package com.algoverse.platform.sync;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * In-process coordinator for a single node (and tests): same lease semantics
+ * as {@link RedisSyncCoordinator}, state kept for the latest run only.
+ */
+public class LocalSyncCoordinator implements SyncCoordinator {
+
+    private final long leaseTtlMillis;
+
+    private String currentRunId;
+    private final Map<Integer, Lease> leases = new HashMap<>();
+    private final Map<Integer, Boolean> done = new HashMap<>();
+
+    public LocalSyncCoordinator(Duration leaseTtl) {
+        this.leaseTtlMillis = leaseTtl.toMillis();
+    }
+
+    @Override
+    public synchronized Optional<ShardLease> claim(String runId, int shardCount) {
+        switchRun(runId);
+        long now = System.currentTimeMillis();
+        for (int shard = 0; shard < shardCount; shard++) {
+            if (done.containsKey(shard)) {
+                continue;
+            }
+            Lease lease = leases.get(shard);
+            if (lease == null || lease.expiresAt <= now) {
+                String token = UUID.randomUUID().toString();
+                leases.put(shard, new Lease(token, now + leaseTtlMillis));
+                return Optional.of(new ShardLease(runId, shard, shardCount, token));
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public synchronized boolean renew(ShardLease lease) {
+        Lease held = held(lease);
+        if (held == null) {
+            return false;
+        }
+        held.expiresAt = System.currentTimeMillis() + leaseTtlMillis;
+        return true;
+    }
+
+    @Override
+    public synchronized void complete(ShardLease lease) {
+        if (held(lease) != null) {
+            leases.remove(lease.shard());
+            done.put(lease.shard(), Boolean.TRUE);
+        }
+    }
+
+    @Override
+    public synchronized void release(ShardLease lease) {
+        if (held(lease) != null) {
+            leases.remove(lease.shard());
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunComplete(String runId, int shardCount) {
+        return runId.equals(currentRunId) && done.size() >= shardCount;
+    }
+
+    private Lease held(ShardLease lease) {
+        if (!lease.runId().equals(currentRunId)) {
+            return null;
+        }
+        Lease held = leases.get(lease.shard());
+        if (held == null || !held.token.equals(lease.token()) || held.expiresAt <= System.currentTimeMillis()) {
+            return null;
+        }
+        return held;
+    }
+
+    private void switchRun(String runId) {
+        if (!runId.equals(currentRunId)) {
+            currentRunId = runId;
+            leases.clear();
+            done.clear();
+        }
+    }
+
+    private static final class Lease {
+        private final String token;
+        private long expiresAt;
+
+        private Lease(String token, long expiresAt) {
+            this.token = token;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
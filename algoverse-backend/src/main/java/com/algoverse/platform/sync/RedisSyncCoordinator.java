@@ -0,0 +1,150 @@
+package com.algoverse.platform.sync;
+
+import com.algoverse.platform.service.RedisCacheService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Shard leases shared by every replica. A lease is a key written with
+ * SET NX PX holding the owner's token, so it disappears on its own when the
+ * owner stops renewing; a done marker keeps a finished shard from being
+ * claimed again for the rest of the run. Check-and-set steps run as Lua
+ * scripts so they are atomic against other nodes.
+ */
+@Slf4j
+public class RedisSyncCoordinator implements SyncCoordinator {
+
+    private static final String LEASE_KEY = "sync:run:%s:shard:%d:lease";
+    private static final String DONE_KEY = "sync:run:%s:shard:%d:done";
+
+    // KEYS = shardCount lease keys then shardCount done keys; tries shards from ARGV[3]
+    private static final RedisScript<Long> CLAIM = new DefaultRedisScript<>("""
+            local n = #KEYS / 2
+            local start = tonumber(ARGV[3])
+            for i = 0, n - 1 do
+              local shard = (start + i) % n
+              if redis.call('EXISTS', KEYS[n + shard + 1]) == 0
+                  and redis.call('SET', KEYS[shard + 1], ARGV[1], 'NX', 'PX', ARGV[2]) then
+                return shard
+              end
+            end
+            return -1
+            """, Long.class);
+
+    private static final RedisScript<Long> RENEW = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+              return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+
+    private static final RedisScript<Long> COMPLETE = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+              redis.call('SET', KEYS[2], '1', 'PX', ARGV[2])
+              return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+              return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private static final RedisScript<Long> COUNT_DONE = new DefaultRedisScript<>("""
+            return redis.call('EXISTS', unpack(KEYS))
+            """, Long.class);
+
+    private final RedisCacheService redisCacheService;
+    private final long leaseTtlMillis;
+    private final long doneTtlMillis;
+    private final String nodeId;
+
+    /**
+     * @param doneTtl how long done markers outlive the run; at least the run slot
+     */
+    public RedisSyncCoordinator(RedisCacheService redisCacheService, Duration leaseTtl, Duration doneTtl) {
+        this.redisCacheService = redisCacheService;
+        this.leaseTtlMillis = leaseTtl.toMillis();
+        this.doneTtlMillis = doneTtl.toMillis();
+        this.nodeId = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Override
+    public Optional<ShardLease> claim(String runId, int shardCount) {
+        List<String> keys = new ArrayList<>(shardCount * 2);
+        for (int shard = 0; shard < shardCount; shard++) {
+            keys.add(leaseKey(runId, shard));
+        }
+        for (int shard = 0; shard < shardCount; shard++) {
+            keys.add(doneKey(runId, shard));
+        }
+        String token = nodeId + ":" + UUID.randomUUID();
+        // Random starting shard so replicas don't all race for the same keys
+        int start = ThreadLocalRandom.current().nextInt(shardCount);
+        Long shard = redisCacheService.execute(CLAIM, keys, token, leaseTtlMillis, start);
+        if (shard == null || shard < 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new ShardLease(runId, shard.intValue(), shardCount, token));
+    }
+
+    @Override
+    public boolean renew(ShardLease lease) {
+        Long renewed = redisCacheService.execute(RENEW, List.of(leaseKey(lease.runId(), lease.shard())),
+                lease.token(), leaseTtlMillis);
+        return renewed != null && renewed == 1L;
+    }
+
+    @Override
+    public void complete(ShardLease lease) {
+        Long completed = redisCacheService.execute(COMPLETE,
+                List.of(leaseKey(lease.runId(), lease.shard()), doneKey(lease.runId(), lease.shard())),
+                lease.token(), doneTtlMillis);
+        if (completed == null || completed == 0L) {
+            log.warn("Lease on shard {} of sync run {} was lost before completion", lease.shard(), lease.runId());
+        }
+    }
+
+    @Override
+    public void release(ShardLease lease) {
+        redisCacheService.execute(RELEASE, List.of(leaseKey(lease.runId(), lease.shard())), lease.token());
+    }
+
+    @Override
+    public boolean isRunComplete(String runId, int shardCount) {
+        List<String> keys = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            keys.add(doneKey(runId, shard));
+        }
+        Long done = redisCacheService.execute(COUNT_DONE, keys);
+        return done != null && done >= shardCount;
+    }
+
+    private static String leaseKey(String runId, int shard) {
+        return String.format(LEASE_KEY, runId, shard);
+    }
+
+    private static String doneKey(String runId, int shard) {
+        return String.format(DONE_KEY, runId, shard);
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception ex) {
+            return "node";
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.algoverse.platform.sync;
+
+/**
+ * A node's claim on one shard of a sync run. The token identifies the holder,
+ * so renewals and completion from a node that already lost the lease are ignored.
+ */
+public record ShardLease(String runId, int shard, int shardCount, String token) {
+}
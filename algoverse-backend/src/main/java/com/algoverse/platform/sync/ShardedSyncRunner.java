@@ -0,0 +1,171 @@
+package com.algoverse.platform.sync;
+
+import com.algoverse.platform.catalog.ProblemCatalog;
+import com.algoverse.platform.config.SyncProperties;
+import com.algoverse.platform.dto.SyncUserView;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splits a sync run into shards by user id and syncs the shards this node
+ * manages to claim from the {@link SyncCoordinator}, so replicas fired by the
+ * same trigger share the run instead of each syncing every user.
+ * <p>
+ * Once nothing is left to claim the node keeps polling until every shard is
+ * done, picking up shards whose owner died and let the lease expire.
+ * <p>
+ * A node takes part until its run slot ends (or the run timeout, if sooner)
+ * and claims no shard in the last {@code claimCutoff} of it, so runs of
+ * consecutive slots do not overlap. A shard can still end up synced by two
+ * nodes when a lease is lost; the per-user claims of {@link SyncEngine} keep
+ * them from syncing the same user twice.
+ */
+@Component
+@Slf4j
+public class ShardedSyncRunner {
+
+    private final SyncEngine syncEngine;
+    private final SyncCoordinator syncCoordinator;
+    private final SyncProperties syncProperties;
+    private final SyncMetrics syncMetrics;
+    private final ScheduledExecutorService heartbeats;
+
+    public ShardedSyncRunner(SyncEngine syncEngine, SyncCoordinator syncCoordinator, SyncProperties syncProperties,
+            SyncMetrics syncMetrics) {
+        this.syncEngine = syncEngine;
+        this.syncCoordinator = syncCoordinator;
+        this.syncProperties = syncProperties;
+        this.syncMetrics = syncMetrics;
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "sync-lease-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Takes part in the run the current time slot belongs to and reports on the shards synced here.
+     */
+    public SyncRunReport run(List<SyncUserView> users, ProblemCatalog catalog) {
+        SyncProperties.Cluster cluster = syncProperties.getCluster();
+        int shardCount = cluster.getShards();
+        Instant startedAt = Instant.now();
+        String runId = runId(startedAt, cluster.getRunSlot());
+        Instant deadline = deadline(startedAt, cluster.getRunSlot(), syncProperties.getRunTimeout());
+        Instant claimCutoff = deadline.minus(cluster.getClaimCutoff());
+        Map<Integer, List<SyncUserView>> byShard = partition(users, shardCount);
+
+        long startNanos = System.nanoTime();
+        List<SyncRunReport> reports = new ArrayList<>();
+        SyncRunReport finished;
+        syncMetrics.runStarted();
+        try {
+            while (Instant.now().isBefore(claimCutoff)) {
+                Optional<ShardLease> lease = syncCoordinator.claim(runId, shardCount);
+                if (lease.isPresent()) {
+                    reports.add(runShard(lease.get(), byShard.getOrDefault(lease.get().shard(), List.of()),
+                            catalog, deadline));
+                    continue;
+                }
+                if (syncCoordinator.isRunComplete(runId, shardCount)) {
+                    break;
+                }
+                try {
+                    Thread.sleep(cluster.getPollInterval().toMillis());
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        } finally {
+            // Also when a shard failed: the run is closed in the metrics with what was synced so far
+            finished = combine(reports, Duration.ofNanos(System.nanoTime() - startNanos));
+            syncMetrics.runFinished(finished);
+            log.info("Node synced {} of {} shards of run {}", reports.size(), shardCount, runId);
+        }
+        return finished;
+    }
+
+    private SyncRunReport runShard(ShardLease lease, List<SyncUserView> users, ProblemCatalog catalog,
+            Instant deadline) {
+        long heartbeatMillis = syncProperties.getCluster().getHeartbeatInterval().toMillis();
+        ScheduledFuture<?> heartbeat = heartbeats.scheduleAtFixedRate(() -> renew(lease),
+                heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        try {
+            SyncRunReport report = syncEngine.run(users, catalog, deadline);
+            syncCoordinator.complete(lease);
+            log.debug("Synced shard {} of run {}: {} users", lease.shard(), lease.runId(), users.size());
+            return report;
+        } catch (RuntimeException ex) {
+            syncCoordinator.release(lease);
+            throw ex;
+        } finally {
+            heartbeat.cancel(false);
+        }
+    }
+
+    private void renew(ShardLease lease) {
+        try {
+            if (!syncCoordinator.renew(lease)) {
+                // Another node may take the shard over; users already claimed here are skipped there
+                log.warn("Lost lease on shard {} of sync run {}", lease.shard(), lease.runId());
+            }
+        } catch (Exception ex) {
+            log.warn("Failed to renew lease on shard {} of sync run {}: {}", lease.shard(), lease.runId(),
+                    ex.getMessage());
+        }
+    }
+
+    // String.hashCode is specified, so every replica puts a user in the same shard
+    static Map<Integer, List<SyncUserView>> partition(List<SyncUserView> users, int shardCount) {
+        Map<Integer, List<SyncUserView>> byShard = new HashMap<>();
+        for (SyncUserView user : users) {
+            int shard = Math.floorMod(user.getId().hashCode(), shardCount);
+            byShard.computeIfAbsent(shard, s -> new ArrayList<>()).add(user);
+        }
+        return byShard;
+    }
+
+    static String runId(Instant now, Duration runSlot) {
+        return Long.toString(now.toEpochMilli() / runSlot.toMillis());
+    }
+
+    // The end of the slot now falls in, or the run timeout if it comes first
+    static Instant deadline(Instant now, Duration runSlot, Duration runTimeout) {
+        long slotMillis = runSlot.toMillis();
+        Instant slotEnd = Instant.ofEpochMilli((now.toEpochMilli() / slotMillis + 1) * slotMillis);
+        Instant timeout = now.plus(runTimeout);
+        return timeout.isBefore(slotEnd) ? timeout : slotEnd;
+    }
+
+    private static SyncRunReport combine(List<SyncRunReport> reports, Duration duration) {
+        int submitted = 0, synced = 0, unchanged = 0, skipped = 0, failed = 0, incomplete = 0;
+        for (SyncRunReport report : reports) {
+            submitted += report.submitted();
+            synced += report.synced();
+            unchanged += report.unchanged();
+            skipped += report.skipped();
+            failed += report.failed();
+            incomplete += report.incomplete();
+        }
+        return new SyncRunReport(submitted, synced, unchanged, skipped, failed, incomplete, duration);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeats.shutdownNow();
+    }
+}
@@ -0,0 +1,98 @@
+package com.algoverse.platform.sync;
+
+import com.algoverse.platform.config.SyncProperties;
+import com.algoverse.platform.dto.LeetCodeSubmission;
+import com.algoverse.platform.service.RedisCacheService;
+import com.algoverse.platform.utils.Fingerprint;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Remembers, per user, a fingerprint of the last submission list a sync fully
+ * processed, so an identical payload can skip mapping and persistence.
+ * <p>
+ * The fingerprint covers the submissions, the watermark the sync leaves
+ * behind and the version of the problem catalog they were matched against,
+ * so a catalog change makes the same payload worth processing again. If the
+ * buffered writes of that sync are lost, the stored watermark never reaches
+ * that value, the next fingerprint differs and the payload is processed
+ * again. Redis failures only cost the short-circuit.
+ */
+@Component
+@Slf4j
+public class SubmissionFingerprints {
+
+    private static final String KEY = "sync:fp:%s";
+
+    private final RedisCacheService redisCacheService;
+    private final Duration ttl;
+    private final Counter skipped;
+
+    public SubmissionFingerprints(RedisCacheService redisCacheService, MeterRegistry meterRegistry,
+            SyncProperties syncProperties) {
+        this.redisCacheService = redisCacheService;
+        this.ttl = syncProperties.getFingerprintTtl();
+        this.skipped = Counter.builder("algoverse.sync.fingerprint.skipped")
+                .description("User syncs short-circuited because the submission list was unchanged")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Submission count, newest timestamp and a hash of every submission, bound to a watermark
+     * and a catalog version.
+     */
+    public static String compute(List<LeetCodeSubmission> submissions, Instant watermark,
+            long catalogVersion) {
+        long hash = Fingerprint.SEED;
+        long newest = Long.MIN_VALUE;
+        for (LeetCodeSubmission s : submissions) {
+            hash = Fingerprint.add(hash, s.getTitle());
+            hash = Fingerprint.add(hash, s.getTitleSlug());
+            hash = Fingerprint.add(hash, s.getTimestamp());
+            hash = Fingerprint.add(hash, s.getStatusDisplay());
+            hash = Fingerprint.add(hash, s.getLang());
+            try {
+                newest = Math.max(newest, Long.parseLong(s.getTimestamp()));
+            } catch (NumberFormatException ex) {
+                // still covered by the hash
+            }
+        }
+        hash = Fingerprint.add(hash, watermark != null ? watermark.toString() : null);
+        hash = Fingerprint.add(hash, Long.toHexString(catalogVersion));
+        return submissions.size() + ":" + (newest == Long.MIN_VALUE ? "-" : newest) + ":"
+                + Long.toHexString(hash);
+    }
+
+    /**
+     * True (and counted as a skipped sync) if the user's last processed payload had this fingerprint.
+     */
+    public boolean isUnchanged(String userId, String fingerprint) {
+        try {
+            if (fingerprint.equals(redisCacheService.get(key(userId), String.class))) {
+                skipped.increment();
+                return true;
+            }
+        } catch (Exception ex) {
+            log.debug("Fingerprint lookup for user {} failed: {}", userId, ex.getMessage());
+        }
+        return false;
+    }
+
+    public void store(String userId, String fingerprint) {
+        try {
+            redisCacheService.set(key(userId), fingerprint, ttl);
+        } catch (Exception ex) {
+            log.debug("Failed to store fingerprint for user {}: {}", userId, ex.getMessage());
+        }
+    }
+
+    private static String key(String userId) {
+        return String.format(KEY, userId);
+    }
+}
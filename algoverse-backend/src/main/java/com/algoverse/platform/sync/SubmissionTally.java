@@ -0,0 +1,16 @@
+package com.algoverse.platform.sync;
+
+/**
+ * Per-user counts of how fetched submissions were classified during mapping.
+ */
+public class SubmissionTally {
+
+    /** Resolved to a catalog problem, including those later dropped as duplicates. */
+    public int matched;
+    /** Title not found in the catalog. */
+    public int unmatched;
+    /** Superseded by a newer submission of the same problem. */
+    public int duplicate;
+    /** At or before the user's watermark, so not looked at again. */
+    public int alreadySynced;
+}
@@ -0,0 +1,33 @@
+package com.algoverse.platform.sync;
+
+import java.util.Optional;
+
+/**
+ * Hands out the shards of a sync run to the nodes taking part in it. A shard
+ * is done once completed; a shard whose lease expires without completing is
+ * claimable again, which is how work held by a dead node is reassigned.
+ */
+public interface SyncCoordinator {
+
+    /**
+     * Claims a shard of the run that is neither done nor leased, if there is one.
+     */
+    Optional<ShardLease> claim(String runId, int shardCount);
+
+    /**
+     * Extends the lease. Returns false if it expired or was taken over.
+     */
+    boolean renew(ShardLease lease);
+
+    /**
+     * Marks the shard done and drops the lease. Ignored if the lease was lost.
+     */
+    void complete(ShardLease lease);
+
+    /**
+     * Gives the shard back without completing it, so another node can claim it.
+     */
+    void release(ShardLease lease);
+
+    boolean isRunComplete(String runId, int shardCount);
+}
@@ -0,0 +1,23 @@
+package com.algoverse.platform.sync;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/sync}: progress of the running sync and a summary of the
+ * last one, including its slowest users.
+ */
+@Component
+@Endpoint(id = "sync")
+@RequiredArgsConstructor
+public class SyncEndpoint {
+
+    private final SyncMetrics syncMetrics;
+
+    @ReadOperation
+    public SyncMetrics.Status status() {
+        return syncMetrics.status();
+    }
+}
@@ -0,0 +1,233 @@
+package com.algoverse.platform.sync;
+
+import com.algoverse.platform.catalog.ProblemCatalog;
+import com.algoverse.platform.config.SyncProperties;
+import com.algoverse.platform.dto.SyncUserView;
+import com.algoverse.platform.http.UpstreamHttpClients;
+import com.algoverse.platform.repository.UserRepository;
+import com.algoverse.platform.service.LeetCodeSyncService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs one blocking sync task per user with bounded concurrency.
+ * <p>
+ * Concurrency is capped by a permit pool per upstream. The submitting thread
+ * blocks for a permit before handing a task over, so a large run applies
+ * backpressure to the scheduler instead of overflowing a queue and dropping
+ * syncs. Tasks run on virtual threads when the runtime provides them and on
+ * an unbounded platform pool otherwise; the permits are what bound it.
+ */
+@Component
+@Slf4j
+public class SyncEngine {
+
+    public static final String LEETCODE_UPSTREAM = UpstreamHttpClients.LEETCODE;
+
+    private final LeetCodeSyncService leetCodeSyncService;
+    private final SyncWriteCoalescer syncWriteCoalescer;
+    private final SyncProperties syncProperties;
+    private final SyncMetrics syncMetrics;
+    private final AdaptiveSyncPolicy adaptiveSyncPolicy;
+    private final UserRepository userRepository;
+    private final ExecutorService executor;
+    private final Map<String, Semaphore> permitPools = new ConcurrentHashMap<>();
+
+    public SyncEngine(LeetCodeSyncService leetCodeSyncService, SyncWriteCoalescer syncWriteCoalescer,
+            SyncProperties syncProperties, SyncMetrics syncMetrics, AdaptiveSyncPolicy adaptiveSyncPolicy,
+            UserRepository userRepository) {
+        this.leetCodeSyncService = leetCodeSyncService;
+        this.syncWriteCoalescer = syncWriteCoalescer;
+        this.syncProperties = syncProperties;
+        this.syncMetrics = syncMetrics;
+        this.adaptiveSyncPolicy = adaptiveSyncPolicy;
+        this.userRepository = userRepository;
+        this.executor = newSyncExecutor();
+    }
+
+    /**
+     * Syncs every user and waits for the run to finish, or until the deadline.
+     * No user is submitted once the deadline has passed; those are reported as
+     * incomplete. Each user is claimed until the deadline before its sync; a
+     * user another node holds a claim on is skipped.
+     */
+    public SyncRunReport run(List<SyncUserView> users, ProblemCatalog catalog, Instant deadline) {
+        long startNanos = System.nanoTime();
+        Semaphore permits = permitPool(LEETCODE_UPSTREAM);
+        CountDownLatch done = new CountDownLatch(users.size());
+        Map<SyncOutcome, AtomicInteger> counts = new EnumMap<>(SyncOutcome.class);
+        for (SyncOutcome outcome : SyncOutcome.values()) {
+            counts.put(outcome, new AtomicInteger());
+        }
+
+        syncMetrics.shardStarted(users.size());
+        int submitted = 0;
+        SyncRunReport finished;
+        try {
+            for (SyncUserView user : users) {
+                if (!Instant.now().isBefore(deadline)
+                        || !permits.tryAcquire(remainingMillis(deadline), TimeUnit.MILLISECONDS)) {
+                    log.warn("Sync run reached its deadline after submitting {} of {} users",
+                            submitted, users.size());
+                    break;
+                }
+                try {
+                    executor.execute(() -> {
+                        try {
+                            counts.get(syncTimed(user, catalog, deadline)).incrementAndGet();
+                        } finally {
+                            permits.release();
+                            done.countDown();
+                        }
+                    });
+                    submitted++;
+                } catch (RejectedExecutionException ex) {
+                    permits.release();
+                    syncMetrics.userRejected();
+                    throw ex;
+                } catch (RuntimeException ex) {
+                    permits.release();
+                    throw ex;
+                }
+            }
+            // Users never submitted are left to the next run and reported as incomplete
+            for (int i = submitted; i < users.size(); i++) {
+                done.countDown();
+            }
+            if (!done.await(remainingMillis(deadline), TimeUnit.MILLISECONDS)) {
+                log.warn("Sync run timed out with {} users still in flight", done.getCount());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            log.warn("Sync run interrupted after submitting {} of {} users", submitted, users.size());
+        } finally {
+            // Also when submitting failed: the buffered writes are persisted and the shard is closed in the metrics
+            flushQuietly();
+            finished = report(users.size(), submitted, counts, startNanos);
+            syncMetrics.shardFinished(users.size(), finished);
+        }
+        return finished;
+    }
+
+    private static long remainingMillis(Instant deadline) {
+        return Math.max(0, Duration.between(Instant.now(), deadline).toMillis());
+    }
+
+    // Drain buffered writes so the run's results are persisted when it reports
+    private void flushQuietly() {
+        try {
+            syncWriteCoalescer.flush();
+        } catch (Exception ex) {
+            log.error("Final flush of sync writes failed: {}", ex.getMessage(), ex);
+        }
+    }
+
+    private static SyncRunReport report(int users, int submitted, Map<SyncOutcome, AtomicInteger> counts,
+            long startNanos) {
+        int synced = counts.get(SyncOutcome.SYNCED).get();
+        int unchanged = counts.get(SyncOutcome.UNCHANGED).get();
+        int skipped = counts.get(SyncOutcome.SKIPPED).get();
+        int failed = counts.get(SyncOutcome.FAILED).get();
+        int incomplete = users - (synced + unchanged + skipped + failed);
+        return new SyncRunReport(submitted, synced, unchanged, skipped, failed, incomplete,
+                Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+
+    private SyncOutcome syncTimed(SyncUserView user, ProblemCatalog catalog, Instant claimUntil) {
+        syncMetrics.userStarted();
+        long startNanos = System.nanoTime();
+        SyncOutcome outcome = SyncOutcome.FAILED;
+        MDC.put("syncUser", user.getId());
+        try {
+            if (!claim(user, claimUntil)) {
+                outcome = SyncOutcome.SKIPPED;
+                return outcome;
+            }
+            outcome = syncSafely(user, catalog);
+            scheduleNext(user, outcome);
+            return outcome;
+        } finally {
+            MDC.remove("syncUser");
+            syncMetrics.userFinished(user.getId(), outcome, System.nanoTime() - startNanos);
+        }
+    }
+
+    // Held past the sync itself so a shard taken over from a slow node does not sync the user again
+    private boolean claim(SyncUserView user, Instant claimUntil) {
+        Instant now = Instant.now();
+        if (!claimUntil.isAfter(now)) {
+            // A claim ending in the past excludes no one; the user is left to the next run
+            log.debug("Run deadline passed before user {} started, skipping", user.getId());
+            return false;
+        }
+        try {
+            if (userRepository.claimSync(user.getId(), now, claimUntil)) {
+                return true;
+            }
+            log.debug("User {} is claimed by another sync, skipping", user.getId());
+        } catch (Exception ex) {
+            log.warn("Failed to claim sync of user {}: {}", user.getId(), ex.getMessage());
+        }
+        return false;
+    }
+
+    private SyncOutcome syncSafely(SyncUserView user, ProblemCatalog catalog) {
+        try {
+            return leetCodeSyncService.syncUserProblems(user, catalog);
+        } catch (Exception ex) {
+            log.error("Unexpected failure syncing user {}: {}", user.getId(), ex.getMessage(), ex);
+            return SyncOutcome.FAILED;
+        }
+    }
+
+    // The schedule goes through the coalescer and merges with the sync's own update
+    private void scheduleNext(SyncUserView user, SyncOutcome outcome) {
+        if (!syncProperties.getAdaptive().isEnabled()) {
+            return;
+        }
+        try {
+            syncWriteCoalescer.submit(List.of(), adaptiveSyncPolicy.nextSync(user, outcome, Instant.now()));
+        } catch (Exception ex) {
+            log.warn("Failed to schedule next sync of user {}: {}", user.getId(), ex.getMessage());
+        }
+    }
+
+    private Semaphore permitPool(String upstream) {
+        return permitPools.computeIfAbsent(upstream, u -> new Semaphore(syncProperties.permitsFor(u), true));
+    }
+
+    private static ExecutorService newSyncExecutor() {
+        try {
+            // Java 21+: one virtual thread per task
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            AtomicInteger threadCount = new AtomicInteger();
+            return Executors.newCachedThreadPool(r -> {
+                Thread thread = new Thread(r, "sync-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
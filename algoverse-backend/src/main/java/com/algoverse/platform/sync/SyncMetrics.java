@@ -0,0 +1,178 @@
+package com.algoverse.platform.sync;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Micrometer meters for the sync pipeline plus the run state shown by the
+ * {@code sync} actuator endpoint. Upstream call latency and status codes are
+ * recorded by the HTTP client layer under {@code algoverse.http.client.requests}
+ * with {@code upstream=leetcode}; coalesced bulk writes under {@code algoverse.sync.flush.*}.
+ */
+@Component
+public class SyncMetrics {
+
+    private static final int SLOWEST_USERS = 10;
+
+    private final Timer runTimer;
+    private final Timer shardTimer;
+    private final Map<SyncOutcome, Timer> userTimers = new EnumMap<>(SyncOutcome.class);
+    private final Counter matched;
+    private final Counter unmatched;
+    private final Counter duplicate;
+    private final Counter alreadySynced;
+    private final Counter rejections;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final Object runLock = new Object();
+    private Instant currentRunStartedAt;
+    private int currentRunUsers;
+    private final AtomicInteger currentRunCompleted = new AtomicInteger();
+    private PriorityQueue<UserLatency> currentSlowest = newSlowestQueue();
+    private LastRun lastRun;
+
+    public SyncMetrics(MeterRegistry meterRegistry) {
+        this.runTimer = Timer.builder("algoverse.sync.run.duration")
+                .description("Duration of this node's part in a sharded sync run")
+                .register(meterRegistry);
+        this.shardTimer = Timer.builder("algoverse.sync.shard.duration")
+                .description("Duration of syncing one shard of a run")
+                .register(meterRegistry);
+        for (SyncOutcome outcome : SyncOutcome.values()) {
+            userTimers.put(outcome, Timer.builder("algoverse.sync.user.latency")
+                    .description("Time to sync one user, from fetch to hand-off to the write coalescer")
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        this.matched = submissionCounter(meterRegistry, "matched");
+        this.unmatched = submissionCounter(meterRegistry, "unmatched");
+        this.duplicate = submissionCounter(meterRegistry, "duplicate");
+        this.alreadySynced = submissionCounter(meterRegistry, "already_synced");
+        this.rejections = Counter.builder("algoverse.sync.engine.rejections")
+                .description("User syncs the executor refused to start")
+                .register(meterRegistry);
+        Gauge.builder("algoverse.sync.engine.in_flight", inFlight, AtomicInteger::get)
+                .description("User syncs currently running")
+                .register(meterRegistry);
+        Gauge.builder("algoverse.sync.engine.queued", queued, AtomicInteger::get)
+                .description("Users of the shards claimed in the current run waiting for a permit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * A sharded run starts on this node; the users of each shard it claims are added by {@link #shardStarted}.
+     */
+    public void runStarted() {
+        synchronized (runLock) {
+            currentRunStartedAt = Instant.now();
+            currentRunUsers = 0;
+            currentRunCompleted.set(0);
+            currentSlowest = newSlowestQueue();
+        }
+        queued.set(0);
+    }
+
+    public void shardStarted(int users) {
+        synchronized (runLock) {
+            currentRunUsers += users;
+        }
+        queued.addAndGet(users);
+    }
+
+    /**
+     * Users of the shard never handed to the executor leave the queue here.
+     */
+    public void shardFinished(int users, SyncRunReport report) {
+        shardTimer.record(report.duration());
+        queued.addAndGet(report.submitted() - users);
+    }
+
+    public void userStarted() {
+        queued.decrementAndGet();
+        inFlight.incrementAndGet();
+    }
+
+    public void userFinished(String userId, SyncOutcome outcome, long durationNanos) {
+        inFlight.decrementAndGet();
+        currentRunCompleted.incrementAndGet();
+        userTimers.get(outcome).record(durationNanos, TimeUnit.NANOSECONDS);
+        synchronized (runLock) {
+            currentSlowest.offer(new UserLatency(userId, outcome, Duration.ofNanos(durationNanos)));
+            if (currentSlowest.size() > SLOWEST_USERS) {
+                currentSlowest.poll();
+            }
+        }
+    }
+
+    public void userRejected() {
+        rejections.increment();
+    }
+
+    public void runFinished(SyncRunReport report) {
+        runTimer.record(report.duration());
+        queued.set(0);
+        synchronized (runLock) {
+            List<UserLatency> slowest = new ArrayList<>(currentSlowest);
+            slowest.sort(Comparator.comparing(UserLatency::duration).reversed());
+            lastRun = new LastRun(currentRunStartedAt, Instant.now(), report, slowest);
+            currentRunStartedAt = null;
+        }
+    }
+
+    public void recordSubmissions(SubmissionTally tally) {
+        matched.increment(tally.matched);
+        unmatched.increment(tally.unmatched);
+        duplicate.increment(tally.duplicate);
+        alreadySynced.increment(tally.alreadySynced);
+    }
+
+    public Status status() {
+        synchronized (runLock) {
+            CurrentRun current = currentRunStartedAt == null ? null
+                    : new CurrentRun(currentRunStartedAt, currentRunUsers, currentRunCompleted.get(),
+                            inFlight.get(), Math.max(queued.get(), 0));
+            return new Status(current, lastRun);
+        }
+    }
+
+    private static Counter submissionCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("algoverse.sync.submissions")
+                .description("Fetched submissions by how the mapping classified them")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    // Min-heap on duration: the head is the fastest of the slowest, evicted first
+    private static PriorityQueue<UserLatency> newSlowestQueue() {
+        return new PriorityQueue<>(Comparator.comparing(UserLatency::duration));
+    }
+
+    public record UserLatency(String userId, SyncOutcome outcome, Duration duration) {
+    }
+
+    public record CurrentRun(Instant startedAt, int users, int completed, int inFlight, int queued) {
+    }
+
+    public record LastRun(Instant startedAt, Instant finishedAt, SyncRunReport report, List<UserLatency> slowestUsers) {
+    }
+
+    public record Status(CurrentRun currentRun, LastRun lastRun) {
+    }
+}
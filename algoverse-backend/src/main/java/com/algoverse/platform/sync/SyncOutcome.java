@@ -0,0 +1,8 @@
+package com.algoverse.platform.sync;
+
+public enum SyncOutcome {
+    SYNCED,
+    UNCHANGED,
+    SKIPPED,
+    FAILED
+}
@@ -0,0 +1,17 @@
+package com.algoverse.platform.sync;
+
+import java.time.Duration;
+
+public record SyncRunReport(
+        int submitted,
+        int synced,
+        int unchanged,
+        int skipped,
+        int failed,
+        int incomplete,
+        Duration duration) {
+
+    public int completed() {
+        return synced + unchanged + skipped + failed;
+    }
+}
@@ -0,0 +1,328 @@
+package com.algoverse.platform.sync;
+
+import com.algoverse.platform.catalog.ProblemCatalog;
+import com.algoverse.platform.config.SyncProperties;
+import com.algoverse.platform.dto.LeaderBoardUserView;
+import com.algoverse.platform.dto.UserSyncUpdate;
+import com.algoverse.platform.entity.SolvedProblem;
+import com.algoverse.platform.repository.SolvedProblemRepository;
+import com.algoverse.platform.repository.UserAnalyticsRepository;
+import com.algoverse.platform.repository.UserRepository;
+import com.algoverse.platform.service.ActivityService;
+import com.algoverse.platform.service.LeaderBoardIndexService;
+import com.algoverse.platform.service.ProblemCatalogService;
+import com.algoverse.platform.service.SolvedProblemBitmapService;
+import com.algoverse.platform.service.StreakService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers the writes produced by concurrent user syncs and flushes them as
+ * large unordered bulk writes, triggered by buffer size or by time.
+ * <p>
+ * Solved-problem upserts are flushed before the user updates of the same
+ * batch, so a watermark is never persisted ahead of the rows it covers.
+ * Batches are held in memory only: a crash before a flush loses them, and the
+ * unmoved watermark makes the next sync pick the submissions up again.
+ */
+@Component
+@Slf4j
+public class SyncWriteCoalescer {
+
+    private final SolvedProblemRepository solvedProblemRepository;
+    private final UserRepository userRepository;
+    private final UserAnalyticsRepository userAnalyticsRepository;
+    private final LeaderBoardIndexService leaderBoardIndexService;
+    private final SolvedProblemBitmapService solvedProblemBitmapService;
+    private final StreakService streakService;
+    private final ActivityService activityService;
+    private final ProblemCatalogService problemCatalogService;
+    private final SyncProperties.Coalescer properties;
+
+    private final Timer flushTimer;
+    private final DistributionSummary problemBatchSize;
+    private final DistributionSummary userBatchSize;
+    private final Counter requeuedBatches;
+    private final Counter droppedBatches;
+
+    private final Object bufferLock = new Object();
+    private final Object flushLock = new Object();
+    private List<SolvedProblem> pendingProblems = new ArrayList<>();
+    private Map<String, UserSyncUpdate> pendingUsers = new HashMap<>();
+    private final Deque<Batch> retryBatches = new ArrayDeque<>();
+
+    private ScheduledExecutorService flusher;
+
+    public SyncWriteCoalescer(SolvedProblemRepository solvedProblemRepository, UserRepository userRepository,
+            UserAnalyticsRepository userAnalyticsRepository, LeaderBoardIndexService leaderBoardIndexService,
+            SolvedProblemBitmapService solvedProblemBitmapService, StreakService streakService,
+            ActivityService activityService, ProblemCatalogService problemCatalogService,
+            SyncProperties syncProperties, MeterRegistry meterRegistry) {
+        this.solvedProblemRepository = solvedProblemRepository;
+        this.userRepository = userRepository;
+        this.userAnalyticsRepository = userAnalyticsRepository;
+        this.leaderBoardIndexService = leaderBoardIndexService;
+        this.solvedProblemBitmapService = solvedProblemBitmapService;
+        this.streakService = streakService;
+        this.activityService = activityService;
+        this.problemCatalogService = problemCatalogService;
+        this.properties = syncProperties.getCoalescer();
+        this.flushTimer = Timer.builder("algoverse.sync.flush.latency")
+                .description("Time to flush one coalesced batch of sync writes")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.problemBatchSize = DistributionSummary.builder("algoverse.sync.flush.batch.size")
+                .description("Writes per coalesced bulk operation")
+                .tag("collection", "solved_problems")
+                .register(meterRegistry);
+        this.userBatchSize = DistributionSummary.builder("algoverse.sync.flush.batch.size")
+                .description("Writes per coalesced bulk operation")
+                .tag("collection", "user_profile")
+                .register(meterRegistry);
+        this.requeuedBatches = Counter.builder("algoverse.sync.flush.requeued")
+                .description("Coalesced batches kept for retry after a failed flush")
+                .register(meterRegistry);
+        this.droppedBatches = Counter.builder("algoverse.sync.flush.dropped")
+                .description("Coalesced batches dropped after exhausting their flush attempts")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "sync-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = properties.getFlushInterval().toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues the writes of one user sync. Flushes on the caller's thread when the buffer is full.
+     */
+    public void submit(List<SolvedProblem> upserts, UserSyncUpdate userUpdate) {
+        boolean full;
+        synchronized (bufferLock) {
+            pendingProblems.addAll(upserts);
+            if (userUpdate != null) {
+                pendingUsers.merge(userUpdate.getUserId(), userUpdate, (a, b) -> {
+                    a.merge(b);
+                    return a;
+                });
+            }
+            full = pendingProblems.size() + pendingUsers.size() >= properties.getMaxBatchSize();
+        }
+        if (full) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes everything buffered so far. Flushes are serialized.
+     * <p>
+     * A batch whose primary writes fail is kept and retried ahead of newer
+     * batches on the next flush, up to {@code maxFlushAttempts} times. Each
+     * stage is recorded once it succeeds, and the user updates carry a
+     * per-batch token, so a retry never applies the same increments twice.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            while (!retryBatches.isEmpty()) {
+                Batch batch = retryBatches.peekFirst();
+                try {
+                    write(batch);
+                } catch (RuntimeException ex) {
+                    if (!exhausted(batch, ex)) {
+                        throw ex;
+                    }
+                }
+                retryBatches.removeFirst();
+            }
+
+            Batch batch;
+            synchronized (bufferLock) {
+                if (pendingProblems.isEmpty() && pendingUsers.isEmpty()) {
+                    return;
+                }
+                batch = new Batch(pendingProblems, pendingUsers);
+                pendingProblems = new ArrayList<>();
+                pendingUsers = new HashMap<>();
+            }
+            try {
+                write(batch);
+            } catch (RuntimeException ex) {
+                if (!exhausted(batch, ex)) {
+                    retryBatches.addLast(batch);
+                    requeuedBatches.increment();
+                }
+                throw ex;
+            }
+        }
+    }
+
+    private boolean exhausted(Batch batch, RuntimeException ex) {
+        if (batch.attempts < properties.getMaxFlushAttempts()) {
+            return false;
+        }
+        droppedBatches.increment();
+        log.error("Dropping batch of {} solved-problem upserts and {} user updates after {} failed flushes: {}",
+                batch.problems.size(), batch.users.size(), batch.attempts, ex.getMessage());
+        return true;
+    }
+
+    private void write(Batch batch) {
+        batch.attempts++;
+        long startNanos = System.nanoTime();
+        if (!batch.problemsWritten) {
+            upsertProblems(batch);
+            batch.problemsWritten = true;
+        }
+        if (!batch.usersWritten) {
+            userRepository.bulkApplySyncUpdates(batch.users.values(), batch.applyToken);
+            batch.usersWritten = true;
+        }
+        if (!batch.analyticsWritten) {
+            userAnalyticsRepository.bulkApplySyncUpdates(batch.users.values(), batch.applyToken);
+            batch.analyticsWritten = true;
+        }
+        markSolved(batch.problems);
+        recordStreaks(batch.problems);
+        recordActivity(batch.written, batch.users);
+        refreshLeaderBoard(batch.users);
+        flushTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        problemBatchSize.record(batch.problems.size());
+        userBatchSize.record(batch.users.size());
+        log.info("Flushed {} solved-problem upserts and {} user updates", batch.problems.size(), batch.users.size());
+    }
+
+    // Stats and activity are counted from the rows the upsert actually wrote, including
+    // those of a partially failed bulk, so a retry or a re-submitted solve counts only once
+    private void upsertProblems(Batch batch) {
+        try {
+            record(batch, solvedProblemRepository.bulkUpsertProblems(batch.problems));
+        } catch (SolvedProblemRepository.PartialUpsertException ex) {
+            record(batch, ex.getResult());
+            throw ex;
+        }
+    }
+
+    private void record(Batch batch, SolvedProblemRepository.UpsertResult result) {
+        credit(batch, result.inserted());
+        batch.written.addAll(result.inserted());
+        batch.written.addAll(result.resolved());
+    }
+
+    private void credit(Batch batch, List<SolvedProblem> inserted) {
+        if (inserted.isEmpty()) {
+            return;
+        }
+        ProblemCatalog catalog = problemCatalogService.getCatalog();
+        for (SolvedProblem sp : inserted) {
+            batch.users.computeIfAbsent(sp.getUserId(), userId -> new UserSyncUpdate(userId, 0, 0, 0, null))
+                    .credit(catalog.findById(sp.getProblemId()));
+        }
+    }
+
+    // The bitmaps are derived data: a failure here must not fail the flush
+    private void markSolved(List<SolvedProblem> problems) {
+        try {
+            solvedProblemBitmapService.markSolved(problems);
+        } catch (Exception ex) {
+            log.warn("Failed to update solved bitmaps for {} problems: {}", problems.size(), ex.getMessage());
+        }
+    }
+
+    // Streaks are derived from solved_problems and reconciled by the backfill
+    private void recordStreaks(List<SolvedProblem> problems) {
+        try {
+            streakService.recordSolves(problems);
+        } catch (Exception ex) {
+            log.warn("Failed to update streaks for {} problems: {}", problems.size(), ex.getMessage());
+        }
+    }
+
+    private void recordActivity(List<SolvedProblem> problems, Map<String, UserSyncUpdate> users) {
+        if (problems.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, String> batchByUser = new HashMap<>();
+            for (UserSyncUpdate update : users.values()) {
+                if (update.getBatchId() != null) {
+                    batchByUser.put(update.getUserId(), update.getBatchId());
+                }
+            }
+            activityService.recordSolves(problems, batchByUser);
+        } catch (Exception ex) {
+            log.warn("Failed to update activity buckets for {} problems: {}", problems.size(), ex.getMessage());
+        }
+    }
+
+    // The leaderboard index is rebuilt from user_profile on schedule, so a miss here is repaired
+    private void refreshLeaderBoard(Map<String, UserSyncUpdate> users) {
+        List<String> changedIds = new ArrayList<>();
+        for (UserSyncUpdate update : users.values()) {
+            if (update.hasStatsChange()) {
+                changedIds.add(update.getUserId());
+            }
+        }
+        if (changedIds.isEmpty()) {
+            return;
+        }
+        try {
+            for (LeaderBoardUserView user : userRepository.findLeaderBoardViewsByIds(changedIds)) {
+                leaderBoardIndexService.updateUser(user);
+            }
+        } catch (Exception ex) {
+            log.warn("Failed to refresh leaderboard entries of {} users: {}", changedIds.size(), ex.getMessage());
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception ex) {
+            log.error("Background flush of sync writes failed: {}", ex.getMessage(), ex);
+        }
+    }
+
+    private static final class Batch {
+        final List<SolvedProblem> problems;
+        final Map<String, UserSyncUpdate> users;
+        final List<SolvedProblem> written = new ArrayList<>();
+        final String applyToken = UUID.randomUUID().toString();
+        boolean problemsWritten;
+        boolean usersWritten;
+        boolean analyticsWritten;
+        int attempts;
+
+        Batch(List<SolvedProblem> problems, Map<String, UserSyncUpdate> users) {
+            this.problems = problems;
+            this.users = users;
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        flusher.shutdownNow();
+        flushQuietly();
+    }
+}
@@ -0,0 +1,28 @@
+package com.algoverse.platform.utils;
+
+/**
+ * 64-bit FNV-1a content fingerprints. Not cryptographic: used to detect that
+ * content changed, where an occasional collision only costs one missed refresh.
+ */
+public final class Fingerprint {
+
+    public static final long SEED = 0xcbf29ce484222325L;
+
+    private static final long PRIME = 0x100000001b3L;
+
+    private Fingerprint() {
+    }
+
+    // FNV-1a over the UTF-16 code units, with a separator so ("ab", "c") != ("a", "bc")
+    public static long add(long hash, String value) {
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= PRIME;
+            }
+        }
+        hash ^= 0x1f;
+        hash *= PRIME;
+        return hash;
+    }
+}
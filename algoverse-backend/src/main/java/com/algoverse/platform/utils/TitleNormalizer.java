@@ -0,0 +1,63 @@
+package com.algoverse.platform.utils;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Derives the indexed search fields of a problem title.
+ * <p>
+ * The normalized form is lower case with every run of non-alphanumeric
+ * characters collapsed to one space, so "Two-Sum II" and "two sum ii" are the
+ * same string. Trigrams of that form back substring search through a multikey index.
+ */
+public final class TitleNormalizer {
+
+    public static final int GRAM_LENGTH = 3;
+
+    private TitleNormalizer() {
+    }
+
+    public static String normalize(String title) {
+        if (title == null) {
+            return null;
+        }
+        StringBuilder normalized = new StringBuilder(title.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < title.length(); i++) {
+            char c = title.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                pendingSpace = false;
+                normalized.append(c);
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Distinct trigrams of an already normalized string; empty if it is shorter than a trigram.
+     */
+    public static Set<String> grams(String normalized) {
+        Set<String> grams = new LinkedHashSet<>();
+        if (normalized == null) {
+            return grams;
+        }
+        for (int i = 0; i + GRAM_LENGTH <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    /**
+     * In-memory equivalent of the repository's title filter: substring match.
+     * Both arguments normalized.
+     */
+    public static boolean matches(String normalizedTitle, String normalizedQuery) {
+        return normalizedTitle != null && normalizedTitle.contains(normalizedQuery);
+    }
+}
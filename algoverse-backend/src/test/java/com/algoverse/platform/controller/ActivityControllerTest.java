@@ -0,0 +1,86 @@
+package com.algoverse.platform.controller;
+
+import com.algoverse.platform.config.AsyncConfig;
+import com.algoverse.platform.dto.ActivityHeatmap;
+import com.algoverse.platform.entity.ActivityMonth;
+import com.algoverse.platform.exception.BatchNotFoundException;
+import com.algoverse.platform.http.UpstreamHttpClients;
+import com.algoverse.platform.service.ActivityService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.security.Principal;
+import java.time.LocalDate;
+import java.util.TreeMap;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ActivityController.class)
+@Import(AsyncConfig.class)
+class ActivityControllerTest {
+
+    private static final Principal USER = () -> "auth-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ActivityService activityService;
+
+    @MockitoBean
+    private UpstreamHttpClients upstreamHttpClients;
+
+    @Test
+    void userHeatmapSerializesDates() throws Exception {
+        TreeMap<LocalDate, Integer> days = new TreeMap<>();
+        days.put(LocalDate.of(2026, 10, 3), 2);
+        days.put(LocalDate.of(2026, 10, 17), 1);
+        when(activityService.getUserHeatmap("auth-1", 3)).thenReturn(ActivityHeatmap.builder()
+                .scope(ActivityMonth.SCOPE_USER)
+                .ownerId("user-1")
+                .from(LocalDate.of(2026, 8, 1))
+                .to(LocalDate.of(2026, 10, 31))
+                .total(3)
+                .days(days)
+                .build());
+
+        mockMvc.perform(get("/api/v1/activity/heatmap").param("months", "3").principal(USER))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.from").value("2026-08-01"))
+                .andExpect(jsonPath("$.to").value("2026-10-31"))
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.days['2026-10-03']").value(2))
+                .andExpect(jsonPath("$.days['2026-10-17']").value(1));
+    }
+
+    @Test
+    void batchHeatmapDefaultsToTwelveMonths() throws Exception {
+        when(activityService.getBatchHeatmap("auth-1", 12)).thenReturn(ActivityHeatmap.builder()
+                .scope(ActivityMonth.SCOPE_BATCH)
+                .ownerId("batch-1")
+                .from(LocalDate.of(2025, 11, 1))
+                .to(LocalDate.of(2026, 10, 31))
+                .days(new TreeMap<>())
+                .build());
+
+        mockMvc.perform(get("/api/v1/activity/heatmap/batch").principal(USER))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.scope").value("batch"))
+                .andExpect(jsonPath("$.from").value("2025-11-01"));
+    }
+
+    @Test
+    void userWithoutBatchIsNotFound() throws Exception {
+        when(activityService.getBatchHeatmap("auth-1", 12)).thenThrow(new BatchNotFoundException("Batch not found"));
+
+        mockMvc.perform(get("/api/v1/activity/heatmap/batch").principal(USER))
+                .andExpect(status().isNotFound());
+    }
+}
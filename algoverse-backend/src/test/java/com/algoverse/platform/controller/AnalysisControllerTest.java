@@ -0,0 +1,85 @@
+package com.algoverse.platform.controller;
+
+import com.algoverse.platform.config.AsyncConfig;
+import com.algoverse.platform.dto.AnalysisJobStatus;
+import com.algoverse.platform.exception.AnalysisJobNotFoundException;
+import com.algoverse.platform.http.UpstreamHttpClients;
+import com.algoverse.platform.service.AnalysisJobService;
+import com.algoverse.platform.service.AnalysisService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.security.Principal;
+import java.time.Instant;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// AsyncConfig is imported so a mapper bean defined there would replace Boot's java.time-aware one here too
+@WebMvcTest(AnalysisController.class)
+@Import(AsyncConfig.class)
+class AnalysisControllerTest {
+
+    private static final Principal USER = () -> "user-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AnalysisService analysisService;
+
+    @MockitoBean
+    private AnalysisJobService analysisJobService;
+
+    @MockitoBean
+    private UpstreamHttpClients upstreamHttpClients;
+
+    @Test
+    void submitJobReturnsAcceptedWithIsoTimestamps() throws Exception {
+        when(analysisJobService.submit("user-1")).thenReturn(AnalysisJobStatus.builder()
+                .jobId("job-1")
+                .state(AnalysisJobStatus.State.QUEUED)
+                .createdAt(Instant.parse("2026-10-17T10:15:30Z"))
+                .build());
+
+        mockMvc.perform(post("/api/v1/analysis/jobs").principal(USER))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.jobId").value("job-1"))
+                .andExpect(jsonPath("$.state").value("QUEUED"))
+                .andExpect(jsonPath("$.createdAt").value("2026-10-17T10:15:30Z"));
+    }
+
+    @Test
+    void getJobSerializesCompletedJob() throws Exception {
+        when(analysisJobService.getStatus(eq("job-1"), eq("user-1"))).thenReturn(AnalysisJobStatus.builder()
+                .jobId("job-1")
+                .state(AnalysisJobStatus.State.COMPLETED)
+                .report("# Report")
+                .createdAt(Instant.parse("2026-10-17T10:15:30Z"))
+                .completedAt(Instant.parse("2026-10-17T10:16:00Z"))
+                .build());
+
+        mockMvc.perform(get("/api/v1/analysis/jobs/job-1").principal(USER))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.report").value("# Report"))
+                .andExpect(jsonPath("$.completedAt").value("2026-10-17T10:16:00Z"));
+    }
+
+    @Test
+    void unknownJobIsNotFound() throws Exception {
+        when(analysisJobService.getStatus(eq("missing"), eq("user-1")))
+                .thenThrow(new AnalysisJobNotFoundException("Analysis job not found: missing"));
+
+        mockMvc.perform(get("/api/v1/analysis/jobs/missing").principal(USER))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404));
+    }
+}
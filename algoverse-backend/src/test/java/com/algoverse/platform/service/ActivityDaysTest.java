@@ -0,0 +1,66 @@
+package com.algoverse.platform.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.BitSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ActivityDaysTest {
+
+    @Test
+    void daysAreCountedInThePlatformZoneFromTheOrigin() {
+        assertThat(ActivityDays.dayOf(Instant.parse("2014-12-31T18:29:59Z"))).isEqualTo(-1);
+        assertThat(ActivityDays.dayOf(Instant.parse("2014-12-31T18:30:00Z"))).isZero();
+        assertThat(ActivityDays.dayOf(Instant.parse("2015-01-01T18:30:00Z"))).isEqualTo(1);
+    }
+
+    @Test
+    void currentStreakEndsTodayWhenTodayIsActive() {
+        assertThat(ActivityDays.currentStreak(days(7, 8, 9, 10), 10)).isEqualTo(4);
+    }
+
+    @Test
+    void currentStreakStillCountsUntilTodaysFirstSolve() {
+        assertThat(ActivityDays.currentStreak(days(7, 8, 9), 10)).isEqualTo(3);
+    }
+
+    @Test
+    void currentStreakIsBrokenByAMissedDay() {
+        assertThat(ActivityDays.currentStreak(days(6, 7, 8), 10)).isZero();
+        assertThat(ActivityDays.currentStreak(days(3, 4, 6, 7), 7)).isEqualTo(2);
+    }
+
+    @Test
+    void currentStreakIgnoresFutureDaysAndCountsFromTheOrigin() {
+        assertThat(ActivityDays.currentStreak(days(0, 1, 2, 5), 2)).isEqualTo(3);
+        assertThat(ActivityDays.currentStreak(new BitSet(), 10)).isZero();
+    }
+
+    @Test
+    void runThroughMeasuresTheWholeRunAroundADay() {
+        BitSet days = days(0, 1, 2, 5, 6, 9);
+
+        assertThat(ActivityDays.runThrough(days, 1)).isEqualTo(3);
+        assertThat(ActivityDays.runThrough(days, 0)).isEqualTo(3);
+        assertThat(ActivityDays.runThrough(days, 5)).isEqualTo(2);
+        assertThat(ActivityDays.runThrough(days, 9)).isEqualTo(1);
+    }
+
+    @Test
+    void maxStreakFindsTheLongestRun() {
+        assertThat(ActivityDays.maxStreak(days(0, 1, 4, 5, 6, 9))).isEqualTo(3);
+        assertThat(ActivityDays.maxStreak(days(2, 3, 4, 5, 8))).isEqualTo(4);
+        assertThat(ActivityDays.maxStreak(days(12))).isEqualTo(1);
+        assertThat(ActivityDays.maxStreak(new BitSet())).isZero();
+    }
+
+    private static BitSet days(int... indexes) {
+        BitSet days = new BitSet();
+        for (int index : indexes) {
+            days.set(index);
+        }
+        return days;
+    }
+}
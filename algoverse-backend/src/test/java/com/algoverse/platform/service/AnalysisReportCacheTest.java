@@ -0,0 +1,53 @@
+package com.algoverse.platform.service;
+
+import com.algoverse.platform.cache.CacheCodec;
+import com.algoverse.platform.dto.AnalysisRequest;
+import com.algoverse.platform.dto.AnalysisResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+class AnalysisReportCacheTest {
+
+    @SuppressWarnings("unchecked")
+    private final CacheCodec<AnalysisResponse> codec = mock(CacheCodec.class);
+    private final RedisCacheService redisCacheService = mock(RedisCacheService.class);
+    private final AnalysisReportCache cache = new AnalysisReportCache(redisCacheService, codec, Duration.ofHours(1));
+
+    @Test
+    void returnsTheReportWhenCachingItFails() {
+        doThrow(new IllegalStateException("redis down")).when(redisCacheService)
+                .setBytes(anyString(), any(), any());
+        AnalysisResponse response = response();
+
+        assertThat(cache.getOrCompute(request(), () -> response)).isSameAs(response);
+    }
+
+    @Test
+    void asyncReturnsTheReportWhenCachingItFails() {
+        doThrow(new IllegalStateException("redis down")).when(redisCacheService)
+                .setBytes(anyString(), any(), any());
+        AnalysisResponse response = response();
+
+        assertThat(cache.getOrComputeAsync(request(), () -> CompletableFuture.completedFuture(response)).join())
+                .isSameAs(response);
+    }
+
+    private static AnalysisRequest request() {
+        return AnalysisRequest.builder().userId("u1").totalSolved(3).build();
+    }
+
+    private static AnalysisResponse response() {
+        AnalysisResponse response = new AnalysisResponse();
+        response.setUserId("u1");
+        response.setAnalysisReport("report");
+        return response;
+    }
+}
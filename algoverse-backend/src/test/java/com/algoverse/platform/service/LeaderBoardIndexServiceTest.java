@@ -0,0 +1,52 @@
+package com.algoverse.platform.service;
+
+import com.algoverse.platform.dto.LeaderBoardMember;
+import com.algoverse.platform.dto.LeaderBoardResponse;
+import com.algoverse.platform.entity.Stats;
+import com.algoverse.platform.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LeaderBoardIndexServiceTest {
+
+    private final RedisCacheService redisCacheService = mock(RedisCacheService.class);
+    private final LeaderBoardIndexService service =
+            new LeaderBoardIndexService(redisCacheService, mock(UserRepository.class));
+
+    @Test
+    void showsTheExactCountsOfTheMemberHashPastTheScoreLimit() {
+        Stats stats = new Stats(5000, 4000, 700, 300);
+        rank("u1", stats, new LeaderBoardMember("Ada", "ada", stats));
+
+        LeaderBoardResponse entry = service.getRange("b1", 0, 0).get(0);
+
+        assertThat(entry.getRank()).isEqualTo(1);
+        assertThat(entry.getStats()).isEqualTo(stats);
+        assertThat(entry.getTotalScore()).isEqualTo(4000 * 3 + 700 * 5 + 300 * 8);
+        assertThat(entry.getDisplayName()).isEqualTo("Ada");
+    }
+
+    @Test
+    void fallsBackToTheScoreForMembersWithoutStats() {
+        Stats stats = new Stats(6, 3, 2, 1);
+        rank("u1", stats, new LeaderBoardMember("Ada", "ada", null));
+
+        LeaderBoardResponse entry = service.getRange("b1", 0, 0).get(0);
+
+        assertThat(entry.getStats()).isEqualTo(stats);
+        assertThat(entry.getTotalScore()).isEqualTo(LeaderBoardScore.score(stats));
+    }
+
+    private void rank(String userId, Stats stats, LeaderBoardMember member) {
+        when(redisCacheService.zCard("leaderboard:b1")).thenReturn(1L);
+        when(redisCacheService.zRevRangeWithScores("leaderboard:b1", 0, 0))
+                .thenReturn(List.of(new DefaultTypedTuple<>(userId, LeaderBoardScore.encode(stats))));
+        when(redisCacheService.hMultiGet("leaderboard:b1:members", List.of(userId))).thenReturn(List.of(member));
+    }
+}
@@ -0,0 +1,67 @@
+package com.algoverse.platform.service;
+
+import com.algoverse.platform.entity.Stats;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeaderBoardScoreTest {
+
+    @Test
+    void roundTripsScoreAndCounts() {
+        Stats stats = new Stats(60, 30, 20, 10);
+
+        double encoded = LeaderBoardScore.encode(stats);
+
+        assertThat(LeaderBoardScore.decodeScore(encoded)).isEqualTo(30 * 3 + 20 * 5 + 10 * 8);
+        assertThat(LeaderBoardScore.decodeStats(encoded)).isEqualTo(stats);
+    }
+
+    @Test
+    void ordersByScoreThenHardThenMediumThenTotal() {
+        // Same score (40): five hards beat eight mediums
+        assertThat(LeaderBoardScore.encode(new Stats(5, 0, 0, 5)))
+                .isGreaterThan(LeaderBoardScore.encode(new Stats(8, 0, 8, 0)));
+        // Same score (23) and hard: more mediums win
+        assertThat(LeaderBoardScore.encode(new Stats(4, 0, 3, 1)))
+                .isGreaterThan(LeaderBoardScore.encode(new Stats(6, 5, 0, 1)));
+        // Same score, hard and medium: more solved in total wins
+        assertThat(LeaderBoardScore.encode(new Stats(11, 5, 1, 0)))
+                .isGreaterThan(LeaderBoardScore.encode(new Stats(10, 5, 1, 0)));
+        // A higher score wins regardless of the counts below it
+        assertThat(LeaderBoardScore.encode(new Stats(1, 0, 0, 1)))
+                .isGreaterThan(LeaderBoardScore.encode(new Stats(4095, 0, 1, 0)));
+    }
+
+    @Test
+    void largestCountsStillFitTheirFields() {
+        Stats stats = new Stats(4095, 0, 2047, 2048);
+
+        Stats decoded = LeaderBoardScore.decodeStats(LeaderBoardScore.encode(stats));
+
+        assertThat(decoded.getTotalSolved()).isEqualTo(4095);
+        assertThat(decoded.getMediumSolved()).isEqualTo(2047);
+        assertThat(decoded.getHardSolved()).isEqualTo(2048);
+    }
+
+    @Test
+    void countsPastTwelveBitsSaturateInsteadOfCarryingIntoTheNextField() {
+        Stats stats = new Stats(4096, 4096, 0, 0);
+
+        double encoded = LeaderBoardScore.encode(stats);
+        Stats decoded = LeaderBoardScore.decodeStats(encoded);
+
+        assertThat(decoded.getTotalSolved()).isEqualTo(4095);
+        assertThat(decoded.getMediumSolved()).isZero();
+        assertThat(decoded.getHardSolved()).isZero();
+        assertThat(LeaderBoardScore.decodeScore(encoded)).isEqualTo(4096 * 3);
+        assertThat(encoded).isGreaterThan(LeaderBoardScore.encode(new Stats(4095, 4095, 0, 0)));
+    }
+
+    @Test
+    void missingStatsEncodeAsZero() {
+        assertThat(LeaderBoardScore.encode(null)).isZero();
+        assertThat(LeaderBoardScore.encode(new Stats())).isZero();
+        assertThat(LeaderBoardScore.score(null)).isZero();
+    }
+}
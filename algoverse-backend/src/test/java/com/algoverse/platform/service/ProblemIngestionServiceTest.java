@@ -0,0 +1,155 @@
+package com.algoverse.platform.service;
+
+import com.algoverse.platform.dto.IngestionReport;
+import com.algoverse.platform.entity.Category;
+import com.algoverse.platform.entity.Problem;
+import com.algoverse.platform.repository.ProblemRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProblemIngestionServiceTest {
+
+    private final ProblemRepository problemRepository = mock(ProblemRepository.class);
+    private final List<Problem> stored = new ArrayList<>();
+    private ProblemIngestionService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ProblemIngestionService(problemRepository, new ObjectMapper(), 2);
+        when(problemRepository.findByTitles(anyCollection())).thenAnswer(call -> {
+            Collection<String> titles = call.getArgument(0);
+            return stored.stream().filter(p -> titles.contains(p.getTitle())).toList();
+        });
+        when(problemRepository.bulkUpsertByTitle(anyList())).thenAnswer(call -> {
+            List<Problem> writes = call.getArgument(0);
+            for (Problem write : writes) {
+                stored.removeIf(p -> p.getTitle().equals(write.getTitle()));
+                write.setId("id-" + write.getTitle());
+                stored.add(write);
+            }
+            return Map.of();
+        });
+    }
+
+    @Test
+    void splitsTheStreamIntoChunksAndAppliesTheCacheOnce() throws IOException {
+        IngestionReport report = service.ingest(ndjson(
+                problem("A", "EASY"), problem("B", "MEDIUM"), problem("C", "HARD"),
+                problem("D", "EASY"), problem("E", "EASY")));
+
+        assertThat(report.getChunks()).hasSize(3);
+        assertThat(report.getReceived()).isEqualTo(5);
+        assertThat(report.getInserted()).isEqualTo(5);
+        assertThat(report.getFailed()).isZero();
+        verify(problemRepository, times(3)).bulkUpsertByTitle(anyList());
+        assertThat(cachedTitles()).containsExactly("A", "B", "C", "D", "E");
+    }
+
+    @Test
+    void readsAJsonArrayLikeNdjson() throws IOException {
+        IngestionReport report = service.ingest(stream("[" + problem("A", "EASY") + "," + problem("B", "EASY") + "]"));
+
+        assertThat(report.getInserted()).isEqualTo(2);
+        assertThat(report.getError()).isNull();
+    }
+
+    @Test
+    void skipsUnchangedProblemsAndCountsUpdates() throws IOException {
+        Problem same = new Problem();
+        same.setTitle("A");
+        same.setCategory(Category.EASY);
+        same.setTopics(Set.of("Array"));
+        Problem old = new Problem();
+        old.setTitle("B");
+        old.setCategory(Category.EASY);
+        old.setTopics(Set.of("Array"));
+        stored.addAll(List.of(same, old));
+
+        IngestionReport report = service.ingest(ndjson(problem("A", "EASY"), problem("B", "HARD")));
+
+        assertThat(report.getUnchanged()).isEqualTo(1);
+        assertThat(report.getUpdated()).isEqualTo(1);
+        assertThat(report.getInserted()).isZero();
+        assertThat(cachedTitles()).containsExactly("B");
+    }
+
+    @Test
+    void keepsTheLastOfTitlesRepeatedWithinAChunk() throws IOException {
+        IngestionReport report = service.ingest(ndjson(problem("A", "EASY"), problem("A", "HARD")));
+
+        assertThat(report.getReceived()).isEqualTo(2);
+        assertThat(report.getInserted()).isEqualTo(1);
+        assertThat(report.getFailed()).isEqualTo(1);
+        assertThat(report.getChunks().get(0).getErrors()).singleElement().asString().contains("duplicate title");
+        assertThat(stored).singleElement().extracting(Problem::getCategory).isEqualTo(Category.HARD);
+    }
+
+    @Test
+    void reportsUnmappableBlankAndRejectedRecords() throws IOException {
+        when(problemRepository.bulkUpsertByTitle(anyList())).thenAnswer(call -> {
+            List<Problem> writes = call.getArgument(0);
+            return writes.stream().anyMatch(p -> p.getTitle().equals("C"))
+                    ? Map.of("C", "E11000 duplicate key")
+                    : Map.of();
+        });
+
+        IngestionReport report = service.ingest(ndjson(
+                problem("A", "NOT_A_CATEGORY"), "{\"category\": \"EASY\"}", problem("C", "EASY")));
+
+        assertThat(report.getReceived()).isEqualTo(3);
+        assertThat(report.getFailed()).isEqualTo(3);
+        assertThat(report.getInserted()).isZero();
+        List<String> errors = report.getChunks().stream().flatMap(chunk -> chunk.getErrors().stream()).toList();
+        assertThat(errors).anySatisfy(error -> assertThat(error).startsWith("record 1:"))
+                .anySatisfy(error -> assertThat(error).isEqualTo("problem without a title"))
+                .anySatisfy(error -> assertThat(error).isEqualTo("C: E11000 duplicate key"));
+    }
+
+    @Test
+    void keepsChunksBeforeASyntaxErrorAndStillAppliesTheCache() throws IOException {
+        IngestionReport report = service.ingest(stream(
+                problem("A", "EASY") + "\n" + problem("B", "EASY") + "\n" + problem("C", "EASY") + "\n{\"title\": "));
+
+        assertThat(report.getError()).startsWith("record 4:");
+        assertThat(report.getInserted()).isEqualTo(3);
+        assertThat(cachedTitles()).containsExactly("A", "B", "C");
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> cachedTitles() {
+        ArgumentCaptor<List<Problem>> changed = ArgumentCaptor.forClass(List.class);
+        verify(problemRepository).applyToCache(changed.capture());
+        return changed.getValue().stream().map(Problem::getTitle).toList();
+    }
+
+    private static String problem(String title, String category) {
+        return "{\"title\": \"" + title + "\", \"category\": \"" + category + "\", \"topics\": [\"Array\"]}";
+    }
+
+    private static ByteArrayInputStream ndjson(String... records) {
+        return stream(String.join("\n", records));
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
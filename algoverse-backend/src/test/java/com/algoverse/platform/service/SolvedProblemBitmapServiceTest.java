@@ -0,0 +1,40 @@
+package com.algoverse.platform.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SolvedProblemBitmapServiceTest {
+
+    @Test
+    void readsBitsMostSignificantFirst() {
+        // SETBIT k 0 1 and SETBIT k 7 1 leave 0x81 in the first byte
+        BitSet bits = SolvedProblemBitmapService.fromRedisBits(new byte[] {(byte) 0x81});
+
+        assertThat(bits.stream().toArray()).containsExactly(0, 7);
+    }
+
+    @Test
+    void offsetsContinueIntoLaterBytes() {
+        // SETBIT k 9 1 and SETBIT k 23 1
+        BitSet bits = SolvedProblemBitmapService.fromRedisBits(new byte[] {0x00, 0x40, 0x01});
+
+        assertThat(bits.stream().toArray()).containsExactly(9, 23);
+    }
+
+    @Test
+    void fullBytesSetEveryOffset() {
+        BitSet bits = SolvedProblemBitmapService.fromRedisBits(new byte[] {(byte) 0xff, (byte) 0xff});
+
+        assertThat(bits.cardinality()).isEqualTo(16);
+        assertThat(bits.nextClearBit(0)).isEqualTo(16);
+    }
+
+    @Test
+    void emptyValueHasNoBits() {
+        assertThat(SolvedProblemBitmapService.fromRedisBits(new byte[0]).isEmpty()).isTrue();
+        assertThat(SolvedProblemBitmapService.fromRedisBits(new byte[3]).isEmpty()).isTrue();
+    }
+}
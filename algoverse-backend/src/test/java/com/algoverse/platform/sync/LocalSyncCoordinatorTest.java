@@ -0,0 +1,96 @@
+package com.algoverse.platform.sync;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalSyncCoordinatorTest {
+
+    private static final String RUN = "run-1";
+
+    @Test
+    void claimsEveryShardOnceThenNothing() {
+        LocalSyncCoordinator coordinator = new LocalSyncCoordinator(Duration.ofMinutes(1));
+
+        Set<Integer> shards = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            Optional<ShardLease> lease = coordinator.claim(RUN, 3);
+            assertThat(lease).isPresent();
+            assertThat(lease.get().runId()).isEqualTo(RUN);
+            assertThat(lease.get().shardCount()).isEqualTo(3);
+            shards.add(lease.get().shard());
+        }
+
+        assertThat(shards).containsExactlyInAnyOrder(0, 1, 2);
+        assertThat(coordinator.claim(RUN, 3)).isEmpty();
+        assertThat(coordinator.isRunComplete(RUN, 3)).isFalse();
+    }
+
+    @Test
+    void completedShardsAreNotClaimedAgainAndFinishTheRun() {
+        LocalSyncCoordinator coordinator = new LocalSyncCoordinator(Duration.ofMinutes(1));
+        ShardLease first = coordinator.claim(RUN, 2).orElseThrow();
+        ShardLease second = coordinator.claim(RUN, 2).orElseThrow();
+
+        coordinator.complete(first);
+        assertThat(coordinator.isRunComplete(RUN, 2)).isFalse();
+        coordinator.complete(second);
+
+        assertThat(coordinator.isRunComplete(RUN, 2)).isTrue();
+        assertThat(coordinator.claim(RUN, 2)).isEmpty();
+    }
+
+    @Test
+    void renewKeepsTheLeaseOnlyForItsHolder() {
+        LocalSyncCoordinator coordinator = new LocalSyncCoordinator(Duration.ofMinutes(1));
+        ShardLease lease = coordinator.claim(RUN, 1).orElseThrow();
+
+        assertThat(coordinator.renew(lease)).isTrue();
+        assertThat(coordinator.renew(new ShardLease(RUN, lease.shard(), 1, "someone-else"))).isFalse();
+    }
+
+    @Test
+    void expiredLeaseIsClaimableAgainAndIgnoresItsFormerHolder() throws InterruptedException {
+        LocalSyncCoordinator coordinator = new LocalSyncCoordinator(Duration.ofMillis(20));
+        ShardLease lost = coordinator.claim(RUN, 1).orElseThrow();
+
+        Thread.sleep(50);
+        assertThat(coordinator.renew(lost)).isFalse();
+        ShardLease takenOver = coordinator.claim(RUN, 1).orElseThrow();
+        assertThat(takenOver.shard()).isEqualTo(lost.shard());
+        assertThat(takenOver.token()).isNotEqualTo(lost.token());
+
+        // Completing with the lost lease does not mark the shard done
+        coordinator.complete(lost);
+        assertThat(coordinator.isRunComplete(RUN, 1)).isFalse();
+        coordinator.complete(takenOver);
+        assertThat(coordinator.isRunComplete(RUN, 1)).isTrue();
+    }
+
+    @Test
+    void releasedShardIsClaimableAgain() {
+        LocalSyncCoordinator coordinator = new LocalSyncCoordinator(Duration.ofMinutes(1));
+        ShardLease lease = coordinator.claim(RUN, 1).orElseThrow();
+
+        coordinator.release(lease);
+
+        assertThat(coordinator.claim(RUN, 1)).isPresent();
+        assertThat(coordinator.isRunComplete(RUN, 1)).isFalse();
+    }
+
+    @Test
+    void newRunStartsFromScratch() {
+        LocalSyncCoordinator coordinator = new LocalSyncCoordinator(Duration.ofMinutes(1));
+        ShardLease old = coordinator.claim(RUN, 1).orElseThrow();
+        coordinator.complete(old);
+
+        assertThat(coordinator.claim("run-2", 1)).isPresent();
+        assertThat(coordinator.isRunComplete(RUN, 1)).isFalse();
+        assertThat(coordinator.renew(old)).isFalse();
+    }
+}
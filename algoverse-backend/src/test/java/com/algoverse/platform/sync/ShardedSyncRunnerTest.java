@@ -0,0 +1,68 @@
+package com.algoverse.platform.sync;
+
+import com.algoverse.platform.dto.SyncUserView;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardedSyncRunnerTest {
+
+    @Test
+    void partitionPutsEveryUserInExactlyOneStableShard() {
+        List<SyncUserView> users = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            users.add(user("user-" + i));
+        }
+
+        Map<Integer, List<SyncUserView>> byShard = ShardedSyncRunner.partition(users, 16);
+
+        assertThat(byShard.keySet()).allSatisfy(shard -> assertThat(shard).isBetween(0, 15));
+        assertThat(byShard.values().stream().mapToInt(List::size).sum()).isEqualTo(users.size());
+        // Another replica partitioning the same users agrees on every shard
+        assertThat(ShardedSyncRunner.partition(new ArrayList<>(users), 16)).isEqualTo(byShard);
+    }
+
+    @Test
+    void partitionHandlesNegativeHashCodes() {
+        // "polygenelubricants".hashCode() == Integer.MIN_VALUE
+        Map<Integer, List<SyncUserView>> byShard = ShardedSyncRunner.partition(
+                List.of(user("polygenelubricants")), 7);
+
+        assertThat(byShard).containsOnlyKeys(Math.floorMod(Integer.MIN_VALUE, 7));
+    }
+
+    @Test
+    void runIdIsSharedWithinASlotAndChangesAtItsEnd() {
+        Duration slot = Duration.ofMinutes(10);
+        Instant slotStart = Instant.parse("2026-10-17T10:00:00Z");
+
+        String runId = ShardedSyncRunner.runId(slotStart, slot);
+
+        assertThat(ShardedSyncRunner.runId(slotStart.plusSeconds(599), slot)).isEqualTo(runId);
+        assertThat(ShardedSyncRunner.runId(slotStart.plusSeconds(600), slot)).isNotEqualTo(runId);
+        assertThat(ShardedSyncRunner.runId(slotStart.minusMillis(1), slot)).isNotEqualTo(runId);
+    }
+
+    @Test
+    void deadlineIsTheSlotEndUnlessTheRunTimeoutComesFirst() {
+        Duration slot = Duration.ofMinutes(10);
+        Instant now = Instant.parse("2026-10-17T10:03:00Z");
+
+        assertThat(ShardedSyncRunner.deadline(now, slot, Duration.ofMinutes(9)))
+                .isEqualTo(Instant.parse("2026-10-17T10:10:00Z"));
+        assertThat(ShardedSyncRunner.deadline(now, slot, Duration.ofMinutes(2)))
+                .isEqualTo(Instant.parse("2026-10-17T10:05:00Z"));
+    }
+
+    private static SyncUserView user(String id) {
+        SyncUserView user = new SyncUserView();
+        user.setId(id);
+        return user;
+    }
+}
@@ -0,0 +1,75 @@
+package com.algoverse.platform.sync;
+
+import com.algoverse.platform.catalog.ProblemCatalog;
+import com.algoverse.platform.config.SyncProperties;
+import com.algoverse.platform.dto.SyncUserView;
+import com.algoverse.platform.repository.UserRepository;
+import com.algoverse.platform.service.LeetCodeSyncService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SyncEngineTest {
+
+    private final LeetCodeSyncService leetCodeSyncService = mock(LeetCodeSyncService.class);
+    private final SyncWriteCoalescer syncWriteCoalescer = mock(SyncWriteCoalescer.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final SyncProperties syncProperties = new SyncProperties();
+    private final SyncEngine engine;
+
+    SyncEngineTest() {
+        syncProperties.getAdaptive().setEnabled(false);
+        engine = new SyncEngine(leetCodeSyncService, syncWriteCoalescer, syncProperties,
+                new SyncMetrics(new SimpleMeterRegistry()), mock(AdaptiveSyncPolicy.class), userRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    void syncsClaimedUsersAndSkipsUsersClaimedElsewhere() {
+        SyncUserView mine = user("u1");
+        SyncUserView theirs = user("u2");
+        when(userRepository.claimSync(anyString(), any(), any())).thenAnswer(call -> "u1".equals(call.getArgument(0)));
+        when(leetCodeSyncService.syncUserProblems(mine, null)).thenReturn(SyncOutcome.SYNCED);
+
+        SyncRunReport report = engine.run(List.of(mine, theirs), null, Instant.now().plusSeconds(30));
+
+        assertThat(report.submitted()).isEqualTo(2);
+        assertThat(report.synced()).isEqualTo(1);
+        assertThat(report.skipped()).isEqualTo(1);
+        assertThat(report.incomplete()).isZero();
+        verify(leetCodeSyncService, never()).syncUserProblems(theirs, null);
+        verify(syncWriteCoalescer).flush();
+    }
+
+    @Test
+    void submitsNothingOnceTheDeadlineHasPassed() {
+        SyncRunReport report = engine.run(List.of(user("u1"), user("u2")), null, Instant.now().minusSeconds(1));
+
+        assertThat(report.submitted()).isZero();
+        assertThat(report.incomplete()).isEqualTo(2);
+        verify(userRepository, never()).claimSync(any(), any(), any());
+        verify(leetCodeSyncService, never()).syncUserProblems(any(SyncUserView.class), any(ProblemCatalog.class));
+        verify(syncWriteCoalescer).flush();
+    }
+
+    private static SyncUserView user(String id) {
+        SyncUserView user = new SyncUserView();
+        user.setId(id);
+        return user;
+    }
+}
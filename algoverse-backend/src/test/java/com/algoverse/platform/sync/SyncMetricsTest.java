@@ -0,0 +1,53 @@
+package com.algoverse.platform.sync;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SyncMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SyncMetrics metrics = new SyncMetrics(meterRegistry);
+
+    @Test
+    void shardsAddUpToOneRun() {
+        metrics.runStarted();
+        metrics.shardStarted(3);
+        syncUsers("u1", "u2", "u3");
+        metrics.shardFinished(3, report(3, 3, Duration.ofSeconds(2)));
+        metrics.shardStarted(2);
+        syncUsers("u4");
+
+        SyncMetrics.CurrentRun current = metrics.status().currentRun();
+        assertThat(current.users()).isEqualTo(5);
+        assertThat(current.completed()).isEqualTo(4);
+        assertThat(current.queued()).isEqualTo(1);
+
+        // The deadline left the last user of the second shard unsubmitted
+        metrics.shardFinished(2, report(1, 1, Duration.ofSeconds(3)));
+        SyncRunReport run = report(4, 4, Duration.ofSeconds(6));
+        metrics.runFinished(run);
+
+        SyncMetrics.Status status = metrics.status();
+        assertThat(status.currentRun()).isNull();
+        assertThat(status.lastRun().report()).isEqualTo(run);
+        assertThat(status.lastRun().slowestUsers()).hasSize(4);
+        assertThat(meterRegistry.get("algoverse.sync.shard.duration").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("algoverse.sync.run.duration").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("algoverse.sync.engine.queued").gauge().value()).isZero();
+    }
+
+    private void syncUsers(String... userIds) {
+        for (String userId : userIds) {
+            metrics.userStarted();
+            metrics.userFinished(userId, SyncOutcome.SYNCED, 1_000_000L);
+        }
+    }
+
+    private static SyncRunReport report(int submitted, int synced, Duration duration) {
+        return new SyncRunReport(submitted, synced, 0, 0, 0, 0, duration);
+    }
+}
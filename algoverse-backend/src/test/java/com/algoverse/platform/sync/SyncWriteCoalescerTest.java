@@ -0,0 +1,203 @@
+package com.algoverse.platform.sync;
+
+import com.algoverse.platform.catalog.ProblemCatalog;
+import com.algoverse.platform.config.SyncProperties;
+import com.algoverse.platform.dto.UserSyncUpdate;
+import com.algoverse.platform.entity.Category;
+import com.algoverse.platform.entity.Problem;
+import com.algoverse.platform.entity.SolvedProblem;
+import com.algoverse.platform.repository.SolvedProblemRepository;
+import com.algoverse.platform.repository.SolvedProblemRepository.PartialUpsertException;
+import com.algoverse.platform.repository.SolvedProblemRepository.UpsertResult;
+import com.algoverse.platform.repository.UserAnalyticsRepository;
+import com.algoverse.platform.repository.UserRepository;
+import com.algoverse.platform.service.ActivityService;
+import com.algoverse.platform.service.LeaderBoardIndexService;
+import com.algoverse.platform.service.ProblemCatalogService;
+import com.algoverse.platform.service.SolvedProblemBitmapService;
+import com.algoverse.platform.service.StreakService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.BulkOperationException;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SyncWriteCoalescerTest {
+
+    private final SolvedProblemRepository solvedProblemRepository = mock(SolvedProblemRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserAnalyticsRepository userAnalyticsRepository = mock(UserAnalyticsRepository.class);
+    private final LeaderBoardIndexService leaderBoardIndexService = mock(LeaderBoardIndexService.class);
+    private final SolvedProblemBitmapService solvedProblemBitmapService = mock(SolvedProblemBitmapService.class);
+    private final StreakService streakService = mock(StreakService.class);
+    private final ActivityService activityService = mock(ActivityService.class);
+    private final ProblemCatalogService problemCatalogService = mock(ProblemCatalogService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SyncWriteCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        SyncProperties properties = new SyncProperties();
+        properties.getCoalescer().setMaxBatchSize(1000);
+        properties.getCoalescer().setMaxFlushAttempts(3);
+        coalescer = new SyncWriteCoalescer(solvedProblemRepository, userRepository, userAnalyticsRepository,
+                leaderBoardIndexService, solvedProblemBitmapService, streakService, activityService,
+                problemCatalogService, properties, meterRegistry);
+
+        Problem easy = new Problem();
+        easy.setId("p1");
+        easy.setCategory(Category.EASY);
+        ProblemCatalog catalog = mock(ProblemCatalog.class);
+        when(catalog.findById("p1")).thenReturn(easy);
+        when(problemCatalogService.getCatalog()).thenReturn(catalog);
+    }
+
+    @Test
+    void creditsInsertedRowsAndRunsEveryStageOnce() {
+        SolvedProblem solve = solve("u1", "p1");
+        when(solvedProblemRepository.bulkUpsertProblems(anyList())).thenReturn(inserted(solve));
+
+        coalescer.submit(List.of(solve), new UserSyncUpdate("u1", 0, 0, 0, Instant.EPOCH));
+        coalescer.flush();
+
+        UserSyncUpdate applied = appliedUserUpdates(1).get(0).iterator().next();
+        assertThat(applied.getEasyDiff()).isEqualTo(1);
+        verify(userAnalyticsRepository).bulkApplySyncUpdates(anyCollection(), anyString());
+        verify(solvedProblemBitmapService).markSolved(List.of(solve));
+        verify(userRepository).findLeaderBoardViewsByIds(List.of("u1"));
+    }
+
+    @Test
+    void retryResumesAtTheFailedStageWithTheSameToken() {
+        SolvedProblem solve = solve("u1", "p1");
+        when(solvedProblemRepository.bulkUpsertProblems(anyList())).thenReturn(inserted(solve));
+        doThrow(new IllegalStateException("primary stepped down"))
+                .doNothing()
+                .when(userRepository).bulkApplySyncUpdates(anyCollection(), anyString());
+
+        coalescer.submit(List.of(solve), new UserSyncUpdate("u1", 0, 0, 0, Instant.EPOCH));
+        assertThatThrownBy(coalescer::flush).isInstanceOf(IllegalStateException.class);
+        verify(solvedProblemBitmapService, times(0)).markSolved(anyList());
+
+        coalescer.flush();
+
+        verify(solvedProblemRepository, times(1)).bulkUpsertProblems(anyList());
+        ArgumentCaptor<String> tokens = ArgumentCaptor.forClass(String.class);
+        verify(userRepository, times(2)).bulkApplySyncUpdates(anyCollection(), tokens.capture());
+        assertThat(tokens.getAllValues().get(0)).isEqualTo(tokens.getAllValues().get(1));
+        verify(userAnalyticsRepository, times(1)).bulkApplySyncUpdates(anyCollection(), anyString());
+        verify(solvedProblemBitmapService, times(1)).markSolved(anyList());
+        verify(activityService, times(1)).recordSolves(anyCollection(), any());
+        assertThat(meterRegistry.counter("algoverse.sync.flush.requeued").count()).isEqualTo(1);
+    }
+
+    @Test
+    void derivedStageFailuresDoNotRequeueTheBatch() {
+        SolvedProblem solve = solve("u1", "p1");
+        when(solvedProblemRepository.bulkUpsertProblems(anyList())).thenReturn(inserted(solve));
+        when(userRepository.findLeaderBoardViewsByIds(anyList())).thenThrow(new IllegalStateException("down"));
+        doThrow(new IllegalStateException("down")).when(activityService).recordSolves(anyCollection(), any());
+
+        coalescer.submit(List.of(solve), new UserSyncUpdate("u1", 0, 0, 0, Instant.EPOCH));
+        coalescer.flush();
+        coalescer.flush();
+
+        verify(userRepository, times(1)).bulkApplySyncUpdates(anyCollection(), anyString());
+        verify(activityService, times(1)).recordSolves(anyCollection(), any());
+        assertThat(meterRegistry.counter("algoverse.sync.flush.requeued").count()).isZero();
+    }
+
+    @Test
+    void activityCountsOnlyRowsTheUpsertActuallyWrote() {
+        SolvedProblem inserted = solve("u1", "p1");
+        SolvedProblem resolved = solve("u1", "p2");
+        SolvedProblem unchanged = solve("u1", "p3");
+        when(solvedProblemRepository.bulkUpsertProblems(anyList()))
+                .thenReturn(new UpsertResult(List.of(inserted), List.of(resolved)));
+
+        coalescer.submit(List.of(inserted, resolved, unchanged), null);
+        coalescer.flush();
+
+        verify(activityService).recordSolves(eq(List.of(inserted, resolved)), any());
+        verify(solvedProblemBitmapService).markSolved(List.of(inserted, resolved, unchanged));
+    }
+
+    @Test
+    void partiallyWrittenRowsAreCountedOnceAcrossTheRetry() {
+        SolvedProblem first = solve("u1", "p1");
+        SolvedProblem second = solve("u2", "p1");
+        PartialUpsertException partial = new PartialUpsertException(
+                new UpsertResult(List.of(first), List.of()), mock(BulkOperationException.class));
+        when(solvedProblemRepository.bulkUpsertProblems(anyList()))
+                .thenThrow(partial)
+                .thenReturn(inserted(second));
+
+        coalescer.submit(List.of(first, second), null);
+        assertThatThrownBy(coalescer::flush).isInstanceOf(PartialUpsertException.class);
+        coalescer.flush();
+
+        verify(activityService).recordSolves(eq(List.of(first, second)), any());
+        Collection<UserSyncUpdate> applied = appliedUserUpdates(1).get(0);
+        assertThat(applied).extracting(UserSyncUpdate::getUserId).containsExactlyInAnyOrder("u1", "u2");
+        assertThat(applied).allSatisfy(update -> assertThat(update.getEasyDiff()).isEqualTo(1));
+    }
+
+    @Test
+    void batchIsDroppedAfterItsLastAttemptAndNewerBatchesFlow() {
+        SolvedProblem stuck = solve("u1", "p1");
+        SolvedProblem next = solve("u2", "p1");
+        when(solvedProblemRepository.bulkUpsertProblems(List.of(stuck))).thenThrow(new IllegalStateException("bad"));
+        when(solvedProblemRepository.bulkUpsertProblems(List.of(next))).thenReturn(inserted(next));
+
+        coalescer.submit(List.of(stuck), null);
+        assertThatThrownBy(coalescer::flush).isInstanceOf(IllegalStateException.class);
+        coalescer.submit(List.of(next), null);
+        assertThatThrownBy(coalescer::flush).isInstanceOf(IllegalStateException.class);
+        // Third and last attempt of the stuck batch: dropped, then the newer batch is written
+        coalescer.flush();
+
+        verify(solvedProblemRepository, times(3)).bulkUpsertProblems(List.of(stuck));
+        verify(solvedProblemRepository, times(1)).bulkUpsertProblems(List.of(next));
+        assertThat(meterRegistry.counter("algoverse.sync.flush.dropped").count()).isEqualTo(1);
+
+        coalescer.flush();
+        verify(solvedProblemRepository, times(3)).bulkUpsertProblems(List.of(stuck));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Collection<UserSyncUpdate>> appliedUserUpdates(int calls) {
+        ArgumentCaptor<Collection<UserSyncUpdate>> updates = ArgumentCaptor.forClass(Collection.class);
+        verify(userRepository, times(calls)).bulkApplySyncUpdates(updates.capture(), anyString());
+        return updates.getAllValues();
+    }
+
+    private static UpsertResult inserted(SolvedProblem... rows) {
+        return new UpsertResult(List.of(rows), List.of());
+    }
+
+    private static SolvedProblem solve(String userId, String problemId) {
+        SolvedProblem solve = new SolvedProblem();
+        solve.setUserId(userId);
+        solve.setProblemId(problemId);
+        solve.setSolvedAt(Instant.parse("2026-10-17T08:00:00Z"));
+        return solve;
+    }
+}